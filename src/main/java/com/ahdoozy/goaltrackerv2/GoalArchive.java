@@ -0,0 +1,121 @@
+package com.ahdoozy.goaltrackerv2;
+
+import com.ahdoozy.goaltrackerv2.models.Goal;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cold storage for completed goals. Archived goals are kept out of {@link GoalManager#getGoals()}
+ * and stored as gzip-compressed, base64-encoded JSON under their own profile key, so they are
+ * only decoded when the archive is opened.
+ */
+@Slf4j
+@Singleton
+public final class GoalArchive
+{
+    @Inject
+    private ProfileStore profileStore;
+
+    @Inject
+    private GoalSerializer goalSerializer;
+
+    /** True if nothing has been archived; does not decode the archive. */
+    public boolean isEmpty()
+    {
+        final String blob = profileStore.get(ProfileStore.ARCHIVE_KEY);
+        return blob == null || blob.isEmpty();
+    }
+
+    /** Decode every archived goal. Returns an empty list if the archive is empty or unreadable. */
+    public List<Goal> load()
+    {
+        final List<Goal> archived = tryLoad();
+        return archived == null ? new ArrayList<>() : archived;
+    }
+
+    /**
+     * Append goals to the archive.
+     * @return false if the existing archive could not be read, in which case it is left untouched
+     */
+    public boolean addAll(List<Goal> goals)
+    {
+        final List<Goal> archived = tryLoad();
+        if (archived == null)
+        {
+            return false;
+        }
+        archived.addAll(goals);
+        save(archived);
+        return true;
+    }
+
+    /** Replace the archive contents, e.g. after a goal was restored from it. */
+    public void save(List<Goal> archived)
+    {
+        try
+        {
+            profileStore.set(ProfileStore.ARCHIVE_KEY, archived.isEmpty() ? "" : encode(goalSerializer.serialize(archived)));
+            log.info("Archived " + archived.size() + " goals");
+        }
+        catch (IOException e)
+        {
+            log.error("Failed to save archived goals!", e);
+        }
+    }
+
+    // Null if the archive exists but cannot be decoded
+    private List<Goal> tryLoad()
+    {
+        if (isEmpty())
+        {
+            return new ArrayList<>();
+        }
+        try
+        {
+            return new ArrayList<>(goalSerializer.deserialize(decode(profileStore.get(ProfileStore.ARCHIVE_KEY))));
+        }
+        catch (Exception e)
+        {
+            log.error("Failed to load archived goals!", e);
+            return null;
+        }
+    }
+
+    static String encode(String json) throws IOException
+    {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes))
+        {
+            out.write(json.getBytes(StandardCharsets.UTF_8));
+        }
+        return Base64.getEncoder().encodeToString(bytes.toByteArray());
+    }
+
+    static String decode(String blob) throws IOException
+    {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(Base64.getDecoder().decode(blob))))
+        {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1)
+            {
+                bytes.write(buffer, 0, read);
+            }
+            return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -1,18 +1,24 @@
 package com.ahdoozy.goaltrackerv2;
 
 import com.ahdoozy.goaltrackerv2.models.Goal;
+import com.ahdoozy.goaltrackerv2.models.GoalHeader;
 import com.ahdoozy.goaltrackerv2.models.enums.Status;
 import com.ahdoozy.goaltrackerv2.models.enums.TaskType;
 import com.ahdoozy.goaltrackerv2.models.task.Task;
+import com.ahdoozy.goaltrackerv2.models.task.TaskKey;
 import com.ahdoozy.goaltrackerv2.utils.ReorderableList;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import javax.swing.SwingUtilities;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -24,11 +30,17 @@ import java.util.stream.Collectors;
 public final class GoalManager
 {
     @Inject
-    private GoalTrackerV2Config config;
+    private ProfileStore profileStore;
 
     @Inject
     private GoalSerializer goalSerializer;
 
+    @Inject
+    private GoalArchive goalArchive;
+
+    @Inject
+    private ScheduledExecutorService executor;
+
     @Getter
     private final ReorderableList<Goal> goals = new ReorderableList<>();
 
@@ -67,26 +79,77 @@ public final class GoalManager
         return tasks;
     }
 
+    @SuppressWarnings("unchecked")
     public <T extends Task> List<T> getIncompleteTasksByType(TaskType type)
     {
-        return this.getTasksByTypeAndAnyStatus(type, Status.NOT_STARTED, Status.IN_PROGRESS);
+        List<T> tasks = new ArrayList<>();
+        for (Goal goal : goals)
+        {
+            // Goals with nothing left to do of this type are skipped without scanning their tasks.
+            // The summary counts every task that is not completed, so it never skips a match here.
+            if (!goal.hasIncomplete(type))
+            {
+                continue;
+            }
+            for (Task task : goal.getTasks())
+            {
+                if (task.getType() == type
+                    && (task.getStatus() == Status.NOT_STARTED || task.getStatus() == Status.IN_PROGRESS))
+                {
+                    tasks.add((T) task);
+                }
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Incomplete tasks of a type grouped by {@link TaskKey}, so sweeps evaluate each
+     * distinct target once however many goals repeat it.
+     */
+    public <T extends Task> List<List<T>> getIncompleteTaskGroupsByType(TaskType type)
+    {
+        return TaskKey.group(this.<T>getIncompleteTasksByType(type));
     }
 
     public void save()
     {
-        config.goalTrackerData(goalSerializer.serialize(goals));
+        String data = goalSerializer.serialize(goals);
+        profileStore.set(ProfileStore.GOALS_KEY, data);
+        profileStore.set(ProfileStore.HEADERS_KEY, goalSerializer.serializeHeaders(goals, data));
         log.info("Saved " + goals.size() + " goals");
         notifyGoalsChanged();
     }
 
+    /**
+     * Replace the live goals with the active profile's saved goals.
+     */
     public void load()
     {
         try
         {
             this.goals.clear();
-            this.goals.addAll(goalSerializer.deserialize(config.goalTrackerData()));
-            notifyGoalsChanged();
+            String data = profileStore.get(ProfileStore.GOALS_KEY);
+            GoalHeader[] headers = goalSerializer.deserializeHeaders(profileStore.get(ProfileStore.HEADERS_KEY), data);
+            if (headers != null)
+            {
+                loadHeaders(headers, data);
+            }
+            else
+            {
+                this.goals.addAll(goalSerializer.deserialize(data));
+            }
             log.info("Loaded " + this.goals.size() + " goals");
+            // Goals completed in an earlier session move to the archive, keeping the live set to active goals.
+            // Saving also writes headers for data stored before they existed.
+            if (archiveCompleted() > 0 || headers == null)
+            {
+                save();
+            }
+            else
+            {
+                notifyGoalsChanged();
+            }
         }
         catch (Exception e)
         {
@@ -94,23 +157,138 @@ public final class GoalManager
         }
     }
     /**
-     * Return the current goals as JSON for export.
+     * Create goals from their headers only; each goal's tasks are deserialized on first use,
+     * and a background warm-up loads them all shortly after.
+     */
+    private void loadHeaders(GoalHeader[] headers, String data)
+    {
+        IntFunction<Supplier<ReorderableList<Task>>> loader = goalSerializer.taskLoader(data);
+        for (int i = 0; i < headers.length; i++)
+        {
+            GoalHeader header = headers[i];
+            Goal goal = Goal.builder()
+                .description(header.getDescription())
+                .displayOrder(header.getDisplayOrder())
+                .pinned(header.isPinned())
+                .keepLive(header.isKeepLive())
+                .build();
+            goal.deferTasks(header, loader.apply(i));
+            goals.add(goal);
+        }
+
+        List<Goal> deferred = new ArrayList<>(goals);
+        executor.execute(() -> {
+            try
+            {
+                deferred.forEach(Goal::getTasks);
+            }
+            catch (Exception e)
+            {
+                log.warn("Failed to warm up goal tasks", e);
+            }
+        });
+    }
+
+    /**
+     * Run an action on the EDT after the warm-up queued by the last {@link #load()}, so it can
+     * read every goal's tasks without deserializing them there. The plugin's executor is
+     * single-threaded, so this queues behind the warm-up.
+     */
+    public void afterWarmUp(Runnable action)
+    {
+        executor.execute(() -> SwingUtilities.invokeLater(action));
+    }
+
+    /**
+     * Move every completed, unpinned goal out of the live list and into the archive.
+     * Goals restored from the archive stay live until they have work again.
+     * @return how many goals were archived
+     */
+    public int archiveCompleted()
+    {
+        List<Goal> completed = new ArrayList<>();
+        for (Goal goal : goals)
+        {
+            if (goal.isKeepLive() && goal.getIncompleteCount() > 0)
+            {
+                goal.setKeepLive(false);
+            }
+            if (isArchivable(goal))
+            {
+                completed.add(goal);
+            }
+        }
+        if (completed.isEmpty() || !goalArchive.addAll(completed))
+        {
+            return 0;
+        }
+        goals.removeAll(completed);
+        return completed.size();
+    }
+
+    private static boolean isArchivable(Goal goal)
+    {
+        return !goal.isPinned() && !goal.isKeepLive() && goal.getTaskCount() > 0 && goal.getIncompleteCount() == 0;
+    }
+
+    /**
+     * Decode the archived goals, e.g. to show them. The returned list is a copy;
+     * pass it back to {@link #restoreGoal} to move a goal out of it.
+     */
+    public List<Goal> getArchivedGoals()
+    {
+        return goalArchive.load();
+    }
+
+    public boolean hasArchivedGoals()
+    {
+        return !goalArchive.isEmpty();
+    }
+
+    /**
+     * Move a goal from the loaded archive back into the live list and persist both.
+     */
+    public void restoreGoal(List<Goal> archived, Goal goal)
+    {
+        if (!archived.remove(goal))
+        {
+            return;
+        }
+        goalArchive.save(archived);
+        goal.setKeepLive(true);
+        goals.add(0, goal);
+        save();
+    }
+
+    /**
+     * Return the current and archived goals as JSON for export.
      * @param pretty pretty-print output
      */
     public String exportJson(boolean pretty)
     {
-        return goalSerializer.serialize(goals, pretty);
+        // Include archived goals so an export is a complete backup
+        List<Goal> all = new ArrayList<>(goals);
+        all.addAll(goalArchive.load());
+        return goalSerializer.serialize(all, pretty);
     }
 
     /**
-     * Import goals from JSON and persist them.
+     * Replace the current and archived goals with those in an export and persist them.
      */
     public void importJson(String json)
     {
         try
         {
+            // Exports hold live and archived goals together; split them the way load would
+            List<Goal> live = new ArrayList<>();
+            List<Goal> completed = new ArrayList<>();
+            for (Goal goal : goalSerializer.deserialize(json))
+            {
+                (isArchivable(goal) ? completed : live).add(goal);
+            }
+            goalArchive.save(completed);
             this.goals.clear();
-            this.goals.addAll(goalSerializer.deserialize(json));
+            this.goals.addAll(live);
             save();
         }
         catch (Exception e)
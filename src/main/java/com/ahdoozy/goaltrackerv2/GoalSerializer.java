@@ -2,16 +2,24 @@ package com.ahdoozy.goaltrackerv2;
 
 import com.google.gson.FieldNamingPolicy;
 import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
 import com.ahdoozy.goaltrackerv2.adapters.QuestAdapter;
 import com.ahdoozy.goaltrackerv2.adapters.SkillAdapter;
 import com.ahdoozy.goaltrackerv2.adapters.TaskAdapter;
 import com.ahdoozy.goaltrackerv2.models.Goal;
+import com.ahdoozy.goaltrackerv2.models.GoalHeader;
 import com.ahdoozy.goaltrackerv2.models.task.Task;
 import com.ahdoozy.goaltrackerv2.utils.ReorderableList;
 import net.runelite.api.Quest;
 import net.runelite.api.Skill;
 
 import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
 
 import javax.inject.Inject;
 
@@ -21,6 +29,9 @@ import javax.inject.Inject;
  */
 public final class GoalSerializer
 {	
+    // Serialized name of Goal's task list
+    private static final String TASKS_FIELD = "items";
+
     @Inject
 	private Gson gson;
 
@@ -36,7 +47,69 @@ public final class GoalSerializer
 
     public String serialize(List<Goal> goals, boolean prettyPrinting)
     {
-        return this.getBuilder(prettyPrinting).toJson(goals);
+        final Gson builder = this.getBuilder(prettyPrinting);
+        final JsonArray array = new JsonArray();
+        for (Goal goal : goals)
+        {
+            // Deferred tasks are written back as the JSON they were read from, so saving does not load them
+            final Supplier<ReorderableList<Task>> deferred = goal.getTaskLoader();
+            final JsonObject json = builder.toJsonTree(goal).getAsJsonObject();
+            if (deferred instanceof DeferredTasks)
+            {
+                json.add(TASKS_FIELD, ((DeferredTasks) deferred).json());
+            }
+            array.add(json);
+        }
+        return builder.toJson(array);
+    }
+
+    /**
+     * Serialize the headers of the given goals, tagged with the hash of the goal data
+     * they were written alongside.
+     */
+    public String serializeHeaders(List<Goal> goals, String serializedGoals)
+    {
+        HeaderTable table = new HeaderTable();
+        table.dataHash = serializedGoals.hashCode();
+        table.goals = goals.stream().map(GoalHeader::of).toArray(GoalHeader[]::new);
+        return this.getBuilder().toJson(table);
+    }
+
+    /**
+     * Headers written alongside {@code serializedGoals}, or null if there are none
+     * or they were written for different goal data.
+     */
+    public GoalHeader[] deserializeHeaders(String serializedHeaders, String serializedGoals)
+    {
+        if (serializedHeaders == null || serializedHeaders.isEmpty() || serializedGoals == null)
+        {
+            return null;
+        }
+        HeaderTable table;
+        try
+        {
+            table = this.getBuilder().fromJson(serializedHeaders, HeaderTable.class);
+        }
+        catch (JsonParseException e)
+        {
+            return null;
+        }
+        if (table == null || table.goals == null || table.dataHash != serializedGoals.hashCode())
+        {
+            return null;
+        }
+        return table.goals;
+    }
+
+    /**
+     * Loaders for the tasks of serialized goals by position. The JSON is parsed on the first
+     * request, and each goal's tasks are bound only when asked for. Until then
+     * {@link #serialize} writes them back unchanged. Safe to share between threads.
+     */
+    public IntFunction<Supplier<ReorderableList<Task>>> taskLoader(String serializedGoals)
+    {
+        final SerializedGoals source = new SerializedGoals(serializedGoals, this.getBuilder());
+        return index -> new DeferredTasks(source, index);
     }
 
     private Gson getBuilder() {
@@ -56,4 +129,60 @@ public final class GoalSerializer
 
         return builder.create();
     }
+
+    // Goal data parsed once, on the first request for any of its goals
+    private static final class SerializedGoals
+    {
+        private final String json;
+        private final Gson builder;
+        private JsonArray parsed;
+
+        private SerializedGoals(String json, Gson builder)
+        {
+            this.json = json;
+            this.builder = builder;
+        }
+
+        private synchronized JsonObject goal(int index)
+        {
+            if (parsed == null)
+            {
+                parsed = new JsonParser().parse(json).getAsJsonArray();
+            }
+            return parsed.get(index).getAsJsonObject();
+        }
+    }
+
+    // Tasks of one serialized goal, bound on first use
+    private static final class DeferredTasks implements Supplier<ReorderableList<Task>>
+    {
+        private final SerializedGoals source;
+        private final int index;
+
+        private DeferredTasks(SerializedGoals source, int index)
+        {
+            this.source = source;
+            this.index = index;
+        }
+
+        @Override
+        public ReorderableList<Task> get()
+        {
+            Goal goal = source.builder.fromJson(source.goal(index), Goal.class);
+            return goal.getTasks() == null ? new ReorderableList<>() : goal.getTasks();
+        }
+
+        // The goal's tasks as read, or null if it had none
+        private JsonElement json()
+        {
+            return source.goal(index).get(TASKS_FIELD);
+        }
+    }
+
+    // Persisted form of the goal headers
+    private static final class HeaderTable
+    {
+        int dataHash;
+        GoalHeader[] goals;
+    }
 }
@@ -4,50 +4,83 @@ import net.runelite.client.config.ConfigItem;
 import net.runelite.client.config.ConfigGroup;
 import net.runelite.client.config.Config;
 import net.runelite.client.config.Alpha;
+import net.runelite.client.config.ConfigSection;
+import net.runelite.client.config.Range;
+import net.runelite.client.config.Units;
 import java.awt.Color;
 
 /**
  * RuneLite config group for Goal Tracker plugin.
- * Stores serialized goals, item cache data, and completion message color.
+ * Holds completion message color, performance tuning and opt-in diagnostics; goals,
+ * archived goals and item cache data are stored per account by {@link ProfileStore}.
  */
 @ConfigGroup("goaltracker")
 public interface GoalTrackerV2Config extends Config
 {
-    @ConfigItem(keyName = "goalTrackerData", name = "", description = "", hidden = true)
-    default String goalTrackerData()
-    {
-        return "";
-    }
+    @ConfigSection(
+        name = "Performance",
+        description = "Tuning for how much work the plugin does per client frame",
+        position = 9,
+        closedByDefault = true
+    )
+    String performanceSection = "performance";
 
-    @ConfigItem(keyName = "goalTrackerData", name = "", description = "", hidden = true)
-    void goalTrackerData(String str);
+    @ConfigSection(
+        name = "Diagnostics",
+        description = "Performance diagnostics for troubleshooting a slow sidebar",
+        position = 10,
+        closedByDefault = true
+    )
+    String diagnosticsSection = "diagnostics";
 
-    @ConfigItem(keyName = "goalTrackerItemCache", name = "", description = "", hidden = true)
-    default String goalTrackerItemCache()
+    @ConfigItem(
+        keyName = "completionMessageColor",
+        name = "Completion Message Color",
+        description = "Color of the chat message when a goal is completed"
+    )
+    @Alpha
+    default Color completionMessageColor()
     {
-        return "";
+        return new Color(0xF227A509, true);
     }
 
-    @ConfigItem(keyName = "goalTrackerItemCache", name = "", description = "", hidden = true)
-    void goalTrackerItemCache(String str);
-
-    @ConfigItem(keyName = "goalTrackerItemNoteMapCache", name = "", description = "", hidden = true)
-    default String goalTrackerItemNoteMapCache()
+    @ConfigItem(
+        keyName = "clientThreadBudget",
+        name = "Client thread budget",
+        description = "Maximum time per client frame spent re-evaluating tasks; larger passes continue on the next frame",
+        section = performanceSection,
+        position = 0
+    )
+    @Units("µs")
+    @Range(min = 100, max = 16000)
+    default int clientThreadBudget()
     {
-        return "";
+        return 1000;
     }
 
-    @ConfigItem(keyName = "goalTrackerItemNoteMapCache", name = "", description = "", hidden = true)
-    void goalTrackerItemNoteMapCache(String str);
+    @ConfigItem(
+        keyName = "edtWatchdog",
+        name = "EDT stall watchdog",
+        description = "Log which plugin components block the Swing thread longer than the stall threshold",
+        section = diagnosticsSection,
+        position = 0
+    )
+    default boolean edtWatchdog()
+    {
+        return false;
+    }
 
     @ConfigItem(
-        keyName = "completionMessageColor",
-        name = "Completion Message Color",
-        description = "Color of the chat message when a goal is completed"
+        keyName = "edtStallThreshold",
+        name = "Stall threshold",
+        description = "How long the Swing thread may be busy before the watchdog samples it",
+        section = diagnosticsSection,
+        position = 1
     )
-    @Alpha
-    default Color completionMessageColor()
+    @Units(Units.MILLISECONDS)
+    @Range(min = 16, max = 5000)
+    default int edtStallThreshold()
     {
-        return new Color(0xF227A509, true);
+        return 100;
     }
 }
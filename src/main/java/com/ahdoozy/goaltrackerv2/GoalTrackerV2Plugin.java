@@ -2,12 +2,21 @@ package com.ahdoozy.goaltrackerv2;
 
 
 
+import com.ahdoozy.goaltrackerv2.models.Goal;
 import com.ahdoozy.goaltrackerv2.models.task.*;
 import com.google.inject.Provides;
 import com.ahdoozy.goaltrackerv2.models.enums.TaskType;
+import com.ahdoozy.goaltrackerv2.services.ClientThreadBudget;
+import com.ahdoozy.goaltrackerv2.services.EdtWatchdog;
+import com.ahdoozy.goaltrackerv2.services.IconDiskCache;
+import com.ahdoozy.goaltrackerv2.services.PlayerState;
+import com.ahdoozy.goaltrackerv2.services.PlayerStateStore;
 import com.ahdoozy.goaltrackerv2.services.TaskIconService;
 import com.ahdoozy.goaltrackerv2.services.TaskUpdateService;
+import com.ahdoozy.goaltrackerv2.services.TaskValidationService;
 import com.ahdoozy.goaltrackerv2.ui.GoalTrackerPanel;
+import com.ahdoozy.goaltrackerv2.ui.components.ListItemPanel;
+import com.ahdoozy.goaltrackerv2.utils.QuestRequirements;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
@@ -17,6 +26,8 @@ import net.runelite.client.callback.ClientThread;
 import net.runelite.client.chat.ChatMessageManager;
 import net.runelite.client.config.ConfigManager;
 import net.runelite.client.eventbus.Subscribe;
+import net.runelite.client.events.ConfigChanged;
+import net.runelite.client.events.RuneScapeProfileChanged;
 import net.runelite.client.events.SessionOpen;
 import net.runelite.client.game.ItemManager;
 import net.runelite.client.game.SkillIconManager;
@@ -33,7 +44,12 @@ import javax.swing.SwingUtilities;
 import javax.swing.Timer;
 import java.awt.Color;
 import java.awt.event.ActionListener;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import net.runelite.api.ChatMessageType;
 import net.runelite.client.chat.QueuedMessage;
@@ -56,6 +72,9 @@ public final class GoalTrackerV2Plugin extends Plugin
             InventoryID.GROUP_STORAGE.getId()
     };
 
+    // Game ticks between saves of the persisted player state while it is dirty
+    private static final int PLAYER_STATE_SAVE_TICKS = 100;
+
     @Getter
     @Inject
     private Client client;
@@ -113,10 +132,35 @@ public final class GoalTrackerV2Plugin extends Plugin
     @Inject
     private GoalTrackerPanel goalTrackerPanel;
 
+    @Inject
+    private EdtWatchdog edtWatchdog;
+
+    @Inject
+    private ClientThreadBudget clientThreadBudget;
+
+    @Inject
+    private TaskValidationService taskValidationService;
+
+    @Inject
+    private PlayerStateStore playerStateStore;
+
+    @Inject
+    private ProfileStore profileStore;
+
+    @Inject
+    private IconDiskCache iconDiskCache;
+
+    @Inject
+    private ScheduledExecutorService executor;
+
     private NavigationButton uiNavigationButton;
 
+    /** Request a full validation sweep on the next game tick. */
     @Setter
-    private boolean validateAll = true;
+    private volatile boolean validateAll = true;
+
+    // True while a full validation sweep is running on the client thread
+    private boolean validating = false;
 
     private boolean warmedIcons = false;
 
@@ -188,6 +232,18 @@ public final class GoalTrackerV2Plugin extends Plugin
         }
     }
 
+    private void applyWatchdogConfig()
+    {
+        if (config.edtWatchdog())
+        {
+            edtWatchdog.start(config.edtStallThreshold());
+        }
+        else
+        {
+            edtWatchdog.stop();
+        }
+    }
+
     @Override
     protected void startUp()
     {
@@ -199,15 +255,36 @@ public final class GoalTrackerV2Plugin extends Plugin
             return;
         }
 
+        // Read the icon disk cache off the EDT before rows and the icon prefetch look icons up
+        executor.execute(iconDiskCache::load);
+
         try {
+            // Start with the current RuneScape profile, or before login the last one, so the sidebar shows its goals
+            profileStore.switchToCurrent();
             goalManager.load();
             itemCache.load();
+            prefetchItemIcons(goalManager.getGoals());
         } catch (Exception ex) {
             log.error("GoalTrackerV2Plugin: failed to load persisted state", ex);
         }
 
         goalTrackerPanel.home();
 
+        // Parse the quest requirement table off the EDT before the first prereq menu needs it
+        executor.execute(QuestRequirements::preload);
+
+        // Bring statuses up to date from the last persisted player state until login validates them live
+        final PlayerState lastState = playerStateStore.loadActive();
+        if (lastState != null)
+        {
+            taskValidationService.validateOffline(lastState, changed -> {
+                if (!changed.isEmpty())
+                {
+                    uiStatusManager.refreshAll(changed);
+                }
+            });
+        }
+
         final AsyncBufferedImage icon = itemManager.getImage(ItemID.TODO_LIST);
         if (icon == null)
         {
@@ -244,16 +321,32 @@ public final class GoalTrackerV2Plugin extends Plugin
         // Preload item icons at plugin startup so they are visible immediately
         warmItemIcons();
         warmedIcons = true; // avoid re-warming on first login tick
+
+        applyWatchdogConfig();
     }
 
     @Override
     protected void shutDown()
     {
+        if (clientThreadBudget != null)
+        {
+            clientThreadBudget.cancelAll();
+        }
+        if (edtWatchdog != null)
+        {
+            edtWatchdog.stop();
+        }
         if (uiNavigationButton != null)
         {
             clientToolbar.removeNavigation(uiNavigationButton);
             uiNavigationButton = null;
         }
+        ListItemPanel.releaseCardImages();
+        if (iconDiskCache != null)
+        {
+            // shutDown runs on the EDT; the flush writes and maps files
+            executor.execute(iconDiskCache::flush);
+        }
     }
 
     @Subscribe
@@ -267,12 +360,31 @@ public final class GoalTrackerV2Plugin extends Plugin
         }
     }
 
+    @Subscribe
+    public void onConfigChanged(ConfigChanged event)
+    {
+        if (!"goaltracker".equals(event.getGroup()) || edtWatchdog == null)
+        {
+            return;
+        }
+        if ("edtWatchdog".equals(event.getKey()) || "edtStallThreshold".equals(event.getKey()))
+        {
+            applyWatchdogConfig();
+        }
+    }
+
     @Subscribe
     public void onStatChanged(StatChanged event)
     {
-        List<SkillLevelTask> skillLevelTasks = goalManager.getIncompleteTasksByType(TaskType.SKILL_LEVEL);
-        for (SkillLevelTask task : skillLevelTasks) {
-            if (!taskUpdateService.update(task, event)) continue;
+        taskUpdateService.invalidateState();
+        playerStateStore.markDirty();
+        // Tasks repeated across goals are evaluated once and the result shared
+        List<List<SkillLevelTask>> groups = goalManager.getIncompleteTaskGroupsByType(TaskType.SKILL_LEVEL);
+        for (List<SkillLevelTask> group : groups) {
+            SkillLevelTask first = group.get(0);
+            if (first.getSkill() != event.getSkill()) continue;
+            taskUpdateService.update(first, event);
+            taskUpdateService.fanOut(first, group);
         }
     }
 
@@ -281,19 +393,87 @@ public final class GoalTrackerV2Plugin extends Plugin
     {
         if (event.getGameState() == GameState.LOGGED_IN)
         {
-            // Re-check quest tasks after login
-            clientThread.invokeLater(() -> refreshQuestTasks());
+            // Re-validate every task on the next tick, once the login state has settled
+            validateAll = true;
+        }
+    }
+
+    @Subscribe
+    public void onRuneScapeProfileChanged(RuneScapeProfileChanged event)
+    {
+        switchProfile();
+    }
 
-            // Refresh the panel once, 10s after login, after detection settles
-            schedulePanelRefresh(10_000);
+    /**
+     * Swap in the current RuneScape profile's goals and item cache. Only the active profile is held
+     * in memory; the previous profile's goals and their UI components are dropped.
+     */
+    private void switchProfile()
+    {
+        taskUpdateService.invalidateState();
+
+        // The goal list is edited, iterated and saved on the EDT, so the profile switches there
+        // together with the reload; saves queued before it still reach the previous profile
+        SwingUtilities.invokeLater(() -> {
+            if (!profileStore.switchToCurrent())
+            {
+                return;
+            }
+            itemCache.load();
+            goalManager.load();
+            goalTrackerPanel.switchProfile();
+            prefetchItemIcons(goalManager.getGoals());
+            // Validate the new goals rather than whatever the login sweep saw
+            validateAll = true;
+        });
+    }
+
+    @Subscribe
+    public void onGameTick(GameTick event)
+    {
+        if (validateAll && !validating)
+        {
+            runFullValidation();
+        }
+        else if (client.getTickCount() % PLAYER_STATE_SAVE_TICKS == 0)
+        {
+            playerStateStore.saveIfDirty();
         }
     }
 
+    /**
+     * Evaluate every incomplete task against one snapshot of the player's state,
+     * then notify, refresh the UI and save once for the whole sweep.
+     */
+    private void runFullValidation()
+    {
+        validateAll = false;
+        validating = true;
+        taskValidationService.validateAll(changed -> {
+            validating = false;
+            for (Task task : changed)
+            {
+                if (task.getStatus().isCompleted())
+                {
+                    notifyTask(task);
+                }
+            }
+            if (!changed.isEmpty())
+            {
+                uiStatusManager.refreshAll(changed);
+                goalManager.save();
+            }
+            playerStateStore.save();
+        });
+    }
+
     @Subscribe
     public void onVarbitChanged(VarbitChanged event)
     {
         // Quest progress often updates via varbits/varps
-        clientThread.invokeLater(() -> refreshQuestTasks());
+        taskUpdateService.invalidateState();
+        playerStateStore.markDirty();
+        refreshQuestTasks();
 
         // Debounce UI refresh during rapid quest varbit updates
         schedulePanelRefresh(750);
@@ -308,31 +488,27 @@ public final class GoalTrackerV2Plugin extends Plugin
             return;
         }
 
-        List<ItemTask> itemTasks = goalManager.getIncompleteTasksByType(TaskType.ITEM);
-        for (ItemTask task : itemTasks)
-        {
-            final int itemId = task.getItemId();
-            if (itemId <= 0)
-            {
-                continue;
-            }
-
-            final int count = countHeldEquivalent(itemId, task.getItemName());
-            final boolean changed = task.recomputeFromCount(count);
-            if (!changed)
-            {
-                continue;
-            }
+        // Recount in budgeted chunks; rapid container changes coalesce into one queued pass,
+        // and the panel refresh is debounced once the recount finishes
+        playerStateStore.markDirty();
+        final PlayerState state = taskUpdateService.snapshot();
+        clientThreadBudget.<List<ItemTask>>submit("item recount",
+            () -> goalManager.getIncompleteTaskGroupsByType(TaskType.ITEM),
+            group -> onTasksChanged(taskUpdateService.update(group, state)),
+            () -> schedulePanelRefresh(400));
+    }
 
+    // Refresh and, on completion, announce each task a sweep changed
+    private void onTasksChanged(List<? extends Task> changed)
+    {
+        for (Task task : changed)
+        {
             uiStatusManager.refresh(task);
             if (task.getStatus().isCompleted())
             {
                 notifyTask(task);
             }
         }
-
-        // Debounce panel refresh; coalesce multiple rapid inventory changes
-        schedulePanelRefresh(400);
     }
 
     private static boolean isPlayerInventoryContainer(int containerId)
@@ -347,146 +523,95 @@ public final class GoalTrackerV2Plugin extends Plugin
         return false;
     }
 
-    private int countHeld(final int itemId)
+    private void refreshQuestTasks()
     {
-        int total = 0;
-        final ItemContainer inv = client.getItemContainer(InventoryID.INVENTORY);
-        if (inv != null)
-        {
-            for (Item i : inv.getItems())
-            {
-                if (i != null && i.getId() == itemId)
-                {
-                    total += Math.max(1, i.getQuantity());
-                }
-            }
-        }
-        final ItemContainer equip = client.getItemContainer(InventoryID.EQUIPMENT);
-        if (equip != null)
-        {
-            for (Item i : equip.getItems())
-            {
-                if (i != null && i.getId() == itemId)
-                {
-                    total += Math.max(1, i.getQuantity());
-                }
-            }
-        }
-        final ItemContainer bank = client.getItemContainer(InventoryID.BANK);
-        if (bank != null)
+        if (goalManager == null || client == null) return;
+        clientThreadBudget.<List<QuestTask>>submit("quest refresh",
+            () -> goalManager.getIncompleteTaskGroupsByType(TaskType.QUEST),
+            group -> onTasksChanged(taskUpdateService.update(group)),
+            null);
+    }
+
+    /**
+     * Fetch and scale item icons of the given goals ahead of display, pinned goals first and
+     * then in list order, stopping once the icon cache would be full so early icons are not
+     * evicted by later ones. Item ids are collected off the client thread, since that may load
+     * deferred task lists, then requested in budgeted client-thread chunks.
+     */
+    public void prefetchItemIcons(List<Goal> goals)
+    {
+        if (goals == null || goals.isEmpty())
         {
-            for (Item i : bank.getItems())
-            {
-                if (i != null && i.getId() == itemId)
-                {
-                    total += Math.max(1, i.getQuantity());
-                }
-            }
+            return;
         }
-        final ItemContainer seedVault = client.getItemContainer(InventoryID.SEED_VAULT);
-        if (seedVault != null)
-        {
-            for (Item i : seedVault.getItems())
+        final List<Goal> snapshot = new ArrayList<>(goals.size());
+        goals.stream().filter(Goal::isPinned).forEach(snapshot::add);
+        goals.stream().filter(goal -> !goal.isPinned()).forEach(snapshot::add);
+        final int capacity = taskIconService.getCapacity();
+        executor.execute(() -> {
+            final Set<Integer> itemIds = new LinkedHashSet<>();
+            try
             {
-                if (i != null && i.getId() == itemId)
-                {
-                    total += Math.max(1, i.getQuantity());
-                }
+                collectItemIds(snapshot, capacity, itemIds);
             }
-        }
-        final ItemContainer groupStorage = client.getItemContainer(InventoryID.GROUP_STORAGE);
-        if (groupStorage != null)
-        {
-            for (Item i : groupStorage.getItems())
+            catch (Exception ex)
             {
-                if (i != null && i.getId() == itemId)
-                {
-                    total += Math.max(1, i.getQuantity());
-                }
+                log.warn("Failed to collect item icons to prefetch", ex);
+                return;
             }
-        }
-        return total;
-    }
-
-    private int countHeldEquivalent(final int targetItemId, final String targetItemName)
-    {
-        // Fallback to ID-only counting if we don't have a name
-        if (targetItemName == null || targetItemName.isEmpty() || itemManager == null)
-        {
-            return countHeld(targetItemId);
-        }
-
-        final String baseName = normalizeBarrowsName(targetItemName);
-        int total = 0;
-
-        total += countContainerByName(InventoryID.INVENTORY, baseName);
-        total += countContainerByName(InventoryID.EQUIPMENT, baseName);
-        total += countContainerByName(InventoryID.BANK, baseName);
-        total += countContainerByName(InventoryID.SEED_VAULT, baseName);
-        total += countContainerByName(InventoryID.GROUP_STORAGE, baseName);
-
-        // Include the exact base ID too, in case some pieces don't use numeric suffixes
-        total += countHeld(targetItemId);
-        return total;
+            clientThreadBudget.<Integer>submit("icon prefetch",
+                () -> new ArrayList<>(itemIds),
+                taskIconService::prefetch,
+                () -> {
+                    log.debug("Prefetched {} item icons", itemIds.size());
+                    executor.execute(iconDiskCache::flush);
+                });
+        });
     }
 
-    private int countContainerByName(final InventoryID id, final String baseName)
+    // Add distinct item ids from the goals' tasks, in order, until there are {@code limit}
+    private static void collectItemIds(List<Goal> goals, int limit, Set<Integer> itemIds)
     {
-        final ItemContainer c = client.getItemContainer(id);
-        if (c == null)
-        {
-            return 0;
-        }
-        int subtotal = 0;
-        for (Item i : c.getItems())
+        for (Goal goal : goals)
         {
-            if (i == null)
+            for (Task task : goal.getTasks())
             {
-                continue;
-            }
-            try
-            {
-                final String name = normalizeBarrowsName(itemManager.getItemComposition(i.getId()).getName());
-                if (name.equals(baseName))
+                if (task instanceof ItemTask && ((ItemTask) task).getItemId() > 0)
                 {
-                    subtotal += Math.max(1, i.getQuantity());
+                    itemIds.add(((ItemTask) task).getItemId());
+                    if (itemIds.size() >= limit)
+                    {
+                        return;
+                    }
                 }
             }
-            catch (Exception ignored) { }
         }
-        return subtotal;
     }
 
     /**
-     * Normalize Barrows item names so that degraded variants (e.g., "Torag's platelegs 100/75/50/25/0")
-     * all map to the same base string (e.g., "Torag's platelegs").
+     * Evaluate every task of newly imported or preset goals against the live client.
+     * Runs in budgeted client-thread chunks, then saves and refreshes the sidebar once.
      */
-    private static String normalizeBarrowsName(final String raw)
+    public void evaluateGoals(List<Goal> goals)
     {
-        if (raw == null)
+        if (goals == null || goals.isEmpty())
         {
-            return "";
+            return;
         }
-        // Strip trailing space+digits (e.g., " 100") and collapse double spaces
-        String s = raw.replaceAll("\\s[0-9]{1,3}$", "").trim();
-        s = s.replaceAll("\\s+", " ");
-        return s;
+        clientThreadBudget.<List<Task>>submit("import evaluation",
+            () -> TaskKey.group(goals.stream().flatMap(goal -> goal.getTasks().stream()).collect(Collectors.toList())),
+            group -> {
+                for (Task task : taskUpdateService.update(group))
+                {
+                    uiStatusManager.refresh(task);
+                }
+            },
+            () -> {
+                goalManager.save();
+                schedulePanelRefresh(0);
+            });
     }
 
-    private void refreshQuestTasks()
-    {
-        if (goalManager == null || client == null) return;
-        List<QuestTask> questTasks = goalManager.getIncompleteTasksByType(TaskType.QUEST);
-        for (QuestTask task : questTasks)
-        {
-            task.refreshStatus(client);
-            uiStatusManager.refresh(task);
-            if (task.getStatus().isCompleted())
-            {
-                notifyTask(task);
-            }
-        }
-    }
     @Provides
     public GoalTrackerV2Config provideConfig(ConfigManager configManager)
     {
@@ -13,7 +13,7 @@ import net.runelite.client.game.ItemManager;
 @Singleton
 /**
  * Tracks player inventory contents across sessions.
- * Persists item totals and note-link mappings for offline use.
+ * Persists item totals and note-link mappings for offline use, per account profile.
  */
 public final class ItemCache
 {
@@ -25,7 +25,7 @@ public final class ItemCache
     private Map<Integer, Integer> itemNoteMap;
 
     @Inject
-    private GoalTrackerV2Config config;
+    private ProfileStore profileStore;
 
     @Inject
     private Gson gson;
@@ -38,14 +38,14 @@ public final class ItemCache
 
     public void save()
     {
-        config.goalTrackerItemCache(gson.toJson(inventories));
-        config.goalTrackerItemNoteMapCache(gson.toJson(itemNoteMap));
+        profileStore.set(ProfileStore.ITEM_CACHE_KEY, gson.toJson(inventories));
+        profileStore.set(ProfileStore.ITEM_NOTE_MAP_KEY, gson.toJson(itemNoteMap));
     }
 
     public void load()
     {
         Map<Integer, Item[]> savedInventories = gson
-            .fromJson(config.goalTrackerItemCache(), new TypeToken<Map<Integer, Item[]>>()
+            .fromJson(profileStore.get(ProfileStore.ITEM_CACHE_KEY), new TypeToken<Map<Integer, Item[]>>()
             {
             }.getType());
 
@@ -56,7 +56,7 @@ public final class ItemCache
         }
 
         Map<Integer, Integer> savedItemNoteMap = gson
-            .fromJson(config.goalTrackerItemNoteMapCache(), new TypeToken<Map<Integer, Integer>>()
+            .fromJson(profileStore.get(ProfileStore.ITEM_NOTE_MAP_KEY), new TypeToken<Map<Integer, Integer>>()
             {
             }.getType());
 
@@ -0,0 +1,131 @@
+package com.ahdoozy.goaltrackerv2;
+
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.config.ConfigManager;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Persisted plugin data for the active RuneScape profile, stored through RuneLite's
+ * per-profile configuration ({@link ConfigManager#getRSProfileConfiguration}), which
+ * RuneLite switches on login. Before login the profile that was active last is addressed
+ * by its key, so the sidebar shows that account's goals. Before any profile is known the
+ * unscoped keys are used; data there, including everything saved before profiles existed,
+ * is moved to the first profile that has no goals of its own.
+ */
+@Slf4j
+@Singleton
+public final class ProfileStore
+{
+    static final String CONFIG_GROUP = "goaltracker";
+    public static final String GOALS_KEY = "goalTrackerData";
+    public static final String HEADERS_KEY = "goalTrackerHeaders";
+    public static final String ARCHIVE_KEY = "goalTrackerArchive";
+    public static final String ITEM_CACHE_KEY = "goalTrackerItemCache";
+    public static final String ITEM_NOTE_MAP_KEY = "goalTrackerItemNoteMapCache";
+    public static final String PLAYER_STATE_KEY = "playerState";
+    private static final String[] PROFILE_KEYS = { GOALS_KEY, HEADERS_KEY, ARCHIVE_KEY, ITEM_CACHE_KEY, ITEM_NOTE_MAP_KEY };
+    // RuneScape profile that was active most recently
+    private static final String LAST_PROFILE_KEY = "lastProfile";
+
+    @Inject
+    private ConfigManager configManager;
+
+    private volatile String profile;
+
+    /** True if the active profile is the one RuneLite is logged in to. */
+    public boolean isCurrent()
+    {
+        final String active = profile;
+        return active != null && active.equals(configManager.getRSProfileKey());
+    }
+
+    /**
+     * Make RuneLite's current RuneScape profile the active one, or before login the profile
+     * that was active last. Callers reload anything read from the profile.
+     * @return false if that profile was already active or no profile is known
+     */
+    public boolean switchToCurrent()
+    {
+        String current = configManager.getRSProfileKey();
+        if (current == null)
+        {
+            current = configManager.getConfiguration(CONFIG_GROUP, LAST_PROFILE_KEY);
+        }
+        else
+        {
+            configManager.setConfiguration(CONFIG_GROUP, LAST_PROFILE_KEY, current);
+        }
+        if (current == null || current.isEmpty() || current.equals(profile))
+        {
+            return false;
+        }
+        profile = current;
+        claimUnscoped(current);
+        log.debug("Switched to profile {}", current);
+        return true;
+    }
+
+    public String get(String key)
+    {
+        final String value = read(profile, key);
+        return value == null ? "" : value;
+    }
+
+    /** Store a value in the active profile, or under the unscoped key while no profile is known. */
+    public void set(String key, String value)
+    {
+        write(profile, key, value);
+    }
+
+    // Move unscoped data to a profile that has no goals yet
+    private void claimUnscoped(String target)
+    {
+        final String unscoped = configManager.getConfiguration(CONFIG_GROUP, GOALS_KEY);
+        final String existing = read(target, GOALS_KEY);
+        if (unscoped == null || unscoped.isEmpty() || (existing != null && !existing.isEmpty()))
+        {
+            return;
+        }
+        for (String key : PROFILE_KEYS)
+        {
+            final String value = configManager.getConfiguration(CONFIG_GROUP, key);
+            if (value != null)
+            {
+                write(target, key, value);
+                configManager.unsetConfiguration(CONFIG_GROUP, key);
+            }
+        }
+        log.info("Moved unscoped goals to profile {}", target);
+    }
+
+    private String read(String target, String key)
+    {
+        if (target == null)
+        {
+            return configManager.getConfiguration(CONFIG_GROUP, key);
+        }
+        if (target.equals(configManager.getRSProfileKey()))
+        {
+            return configManager.getRSProfileConfiguration(CONFIG_GROUP, key);
+        }
+        return configManager.getConfiguration(CONFIG_GROUP, target, key);
+    }
+
+    private void write(String target, String key, String value)
+    {
+        if (target == null)
+        {
+            configManager.setConfiguration(CONFIG_GROUP, key, value);
+        }
+        else if (target.equals(configManager.getRSProfileKey()))
+        {
+            configManager.setRSProfileConfiguration(CONFIG_GROUP, key, value);
+        }
+        else
+        {
+            configManager.setConfiguration(CONFIG_GROUP, target, key, value);
+        }
+    }
+}
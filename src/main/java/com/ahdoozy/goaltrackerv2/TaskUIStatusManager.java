@@ -1,12 +1,16 @@
 package com.ahdoozy.goaltrackerv2;
 
 import com.ahdoozy.goaltrackerv2.models.Goal;
+import com.ahdoozy.goaltrackerv2.models.task.ItemTask;
 import com.ahdoozy.goaltrackerv2.models.task.Task;
 import lombok.extern.slf4j.Slf4j;
 
 import javax.inject.Singleton;
 import javax.swing.*;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Slf4j
@@ -30,6 +34,15 @@ public final class TaskUIStatusManager
         goalRefreshers.put(goal, refresher);
     }
 
+    /**
+     * Drop every refresher, e.g. when the components they belong to are discarded on a profile switch.
+     */
+    public void clear()
+    {
+        taskRefreshers.clear();
+        goalRefreshers.clear();
+    }
+
     public void refresh(Task task)
     {
         SwingUtilities.invokeLater(() -> {
@@ -54,4 +67,42 @@ public final class TaskUIStatusManager
             }
         });
     }
+
+    /**
+     * Refresh only the rows showing an item, e.g. once its icon has loaded.
+     */
+    public void refreshItem(int itemId)
+    {
+        SwingUtilities.invokeLater(() -> {
+            for (Map.Entry<Task, Runnable> entry : taskRefreshers.entrySet())
+            {
+                if (entry.getKey() instanceof ItemTask && ((ItemTask) entry.getKey()).getItemId() == itemId)
+                {
+                    entry.getValue().run();
+                }
+            }
+        });
+    }
+
+    /**
+     * Refresh a batch of tasks and every goal card in a single pass on the EDT.
+     */
+    public void refreshAll(Collection<? extends Task> tasks)
+    {
+        final List<Task> batch = new ArrayList<>(tasks);
+        SwingUtilities.invokeLater(() -> {
+            for (Task task : batch)
+            {
+                final Runnable refresher = taskRefreshers.get(task);
+                if (refresher != null)
+                {
+                    refresher.run();
+                }
+            }
+            for (Runnable refresher : goalRefreshers.values())
+            {
+                refresher.run();
+            }
+        });
+    }
 }
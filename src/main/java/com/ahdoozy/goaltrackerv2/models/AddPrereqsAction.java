@@ -0,0 +1,87 @@
+package com.ahdoozy.goaltrackerv2.models;
+
+import com.ahdoozy.goaltrackerv2.models.task.QuestTask;
+import com.ahdoozy.goaltrackerv2.models.task.Task;
+import com.ahdoozy.goaltrackerv2.utils.QuestRequirements;
+import com.ahdoozy.goaltrackerv2.utils.ReorderableList;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Action for inserting the missing prerequisites of every quest task in a goal at once.
+ * Stores the task order before and after, so undo and redo are each one list replacement.
+ */
+public final class AddPrereqsAction implements ActionHistory.Action
+{
+    private static final int MAX_INDENT = 3;
+
+    private final ReorderableList<Task> tasks;
+    private final List<Task> before;
+    private final List<Task> after;
+    private final int added;
+
+    private AddPrereqsAction(ReorderableList<Task> tasks, List<Task> before, List<Task> after)
+    {
+        this.tasks = tasks;
+        this.before = before;
+        this.after = after;
+        this.added = after.size() - before.size();
+    }
+
+    /**
+     * Compute, in one pass over the goal, the prerequisites missing beneath each quest task.
+     * Each quest is checked against the list as it is now, and its prerequisites are placed
+     * directly after it. Returns null if nothing is missing; call {@link #redo()} to apply.
+     */
+    public static AddPrereqsAction forAllQuests(ReorderableList<Task> tasks, TaskIndex index)
+    {
+        final List<Task> before = new ArrayList<>(tasks);
+        final List<Task> after = new ArrayList<>(before.size());
+        for (Task task : before)
+        {
+            after.add(task);
+            if (task instanceof QuestTask)
+            {
+                after.addAll(missingPrereqs(index, (QuestTask) task));
+            }
+        }
+        return after.size() == before.size() ? null : new AddPrereqsAction(tasks, before, after);
+    }
+
+    /**
+     * New tasks for the quest's prerequisites that are not already nested beneath it,
+     * in requirement-tree order and indented beneath the quest.
+     */
+    public static List<Task> missingPrereqs(TaskIndex index, QuestTask quest)
+    {
+        final int baseIndent = quest.getIndentLevel();
+        final List<Task> missing = new ArrayList<>();
+        for (QuestRequirements.Requirement requirement : QuestRequirements.getRequirementTree(quest.getQuest()))
+        {
+            if (!index.containsUnder(quest, requirement.getKey()))
+            {
+                missing.add(requirement.toTask(Math.min(baseIndent + 1 + requirement.getDepth(), MAX_INDENT)));
+            }
+        }
+        return missing;
+    }
+
+    /** Number of tasks this action inserts. */
+    public int getAdded()
+    {
+        return added;
+    }
+
+    @Override
+    public void undo()
+    {
+        tasks.replaceWith(before);
+    }
+
+    @Override
+    public void redo()
+    {
+        tasks.replaceWith(after);
+    }
+}
@@ -2,8 +2,10 @@ package com.ahdoozy.goaltrackerv2.models;
 
 import com.google.gson.annotations.SerializedName;
 import com.ahdoozy.goaltrackerv2.models.enums.Status;
+import com.ahdoozy.goaltrackerv2.models.enums.TaskType;
 import com.ahdoozy.goaltrackerv2.models.task.Task;
 import com.ahdoozy.goaltrackerv2.utils.ReorderableList;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
@@ -12,6 +14,7 @@ import lombok.experimental.SuperBuilder;
 import java.util.Arrays;
 import java.util.List;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -32,25 +35,201 @@ public final class Goal
     @Builder.Default
     private boolean pinned = false;
 
+    // Set on a completed goal restored from the archive, so loading does not archive it again
+    @Builder.Default
+    private boolean keepLive = false;
+
     @SerializedName("items")
     @Builder.Default
     private ReorderableList<Task> tasks = new ReorderableList<>();
 
+    // Loads the tasks on first access when the goal was restored from its header;
+    // until then counts and status come from the header
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient volatile Supplier<ReorderableList<Task>> taskLoader;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient GoalHeader header;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient TaskIndex taskIndex;
+
+    // Summary of incomplete tasks: a bit per TaskType ordinal and a count, recounted
+    // only after the task list or the status of one of this goal's tasks has changed
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient int incompleteTypes;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient int incompleteCount;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient ReorderableList<Task> summarized;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient int summarizedVersion;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient volatile boolean summaryStale;
+
+    /**
+     * Defer this goal's tasks until first access, serving counts and status from
+     * {@code header} in the meantime.
+     */
+    public void deferTasks(GoalHeader header, Supplier<ReorderableList<Task>> loader)
+    {
+        this.header = header;
+        this.taskLoader = loader;
+    }
+
+    /** True once the tasks are in memory. */
+    public boolean isLoaded()
+    {
+        return taskLoader == null;
+    }
+
+    /** Loader of the deferred tasks, or null once they are in memory. */
+    public Supplier<ReorderableList<Task>> getTaskLoader()
+    {
+        return taskLoader;
+    }
+
+    /** The goal's tasks, loading them first if they were deferred. */
+    public ReorderableList<Task> getTasks()
+    {
+        if (taskLoader != null)
+        {
+            loadTasks();
+        }
+        return tasks;
+    }
+
+    public void setTasks(ReorderableList<Task> tasks)
+    {
+        this.tasks = tasks;
+        this.taskLoader = null;
+    }
+
+    // May race between the warm-up thread and a first access elsewhere
+    private synchronized void loadTasks()
+    {
+        final Supplier<ReorderableList<Task>> loader = taskLoader;
+        if (loader != null)
+        {
+            tasks = loader.get();
+            taskLoader = null;
+        }
+    }
+
+    /** Key index over this goal's tasks; follows changes to the task list and to indent levels. */
+    public TaskIndex getTaskIndex()
+    {
+        if (taskIndex == null || !taskIndex.isFor(getTasks()))
+        {
+            taskIndex = new TaskIndex(getTasks(), this);
+        }
+        return taskIndex;
+    }
+
+    /** Called by an attached task when its indent level changes. */
+    public void taskIndentChanged()
+    {
+        final TaskIndex index = taskIndex;
+        if (index != null)
+        {
+            index.indentChanged();
+        }
+    }
+
+    /** True if any task of the given type is not yet completed. */
+    public boolean hasIncomplete(TaskType type)
+    {
+        if (!isLoaded())
+        {
+            return header.hasIncomplete(type);
+        }
+        ensureSummary();
+        return (incompleteTypes & (1 << type.ordinal())) != 0;
+    }
+
+    /** Number of tasks not yet completed. */
+    public int getIncompleteCount()
+    {
+        if (!isLoaded())
+        {
+            return header.getTaskCount() - header.getCompletedCount();
+        }
+        ensureSummary();
+        return incompleteCount;
+    }
+
+    /** Number of tasks; does not load deferred tasks. */
+    public int getTaskCount()
+    {
+        return isLoaded() ? tasks.size() : header.getTaskCount();
+    }
+
+    /** Number of completed tasks; does not load deferred tasks. */
+    public int getCompletedCount()
+    {
+        return getTaskCount() - getIncompleteCount();
+    }
+
+    /** Called by an attached task when its status changes. */
+    public void taskStatusChanged()
+    {
+        summaryStale = true;
+    }
+
+    private void ensureSummary()
+    {
+        if (summarized == tasks
+            && summarizedVersion == tasks.getVersion()
+            && !summaryStale)
+        {
+            return;
+        }
+        // Cleared before counting, so a change made while counting forces another pass
+        summaryStale = false;
+        int types = 0;
+        int count = 0;
+        for (Task task : tasks)
+        {
+            task.attachTo(this);
+            if (!task.isDone())
+            {
+                types |= 1 << task.getType().ordinal();
+                count++;
+            }
+        }
+        incompleteTypes = types;
+        incompleteCount = count;
+        summarized = tasks;
+        summarizedVersion = tasks.getVersion();
+    }
+
     private List<Task> filterBy(Predicate<Task> predicate)
     {
-        return tasks.stream().filter(predicate).collect(Collectors.toList());
+        return getTasks().stream().filter(predicate).collect(Collectors.toList());
     }
 
     /** True if all tasks are of the given status. */
     public boolean isStatus(Status status)
     {
-        return tasks.stream().allMatch(task -> task.getStatus() == status);
+        return getTasks().stream().allMatch(task -> task.getStatus() == status);
     }
 
     /** True if any task matches one of the given statuses. */
     public boolean isAnyStatus(Status... statuses)
     {
-        return tasks.stream().anyMatch(task ->
+        return getTasks().stream().anyMatch(task ->
             Arrays.stream(statuses).anyMatch(s -> s == task.getStatus()));
     }
 
@@ -60,9 +239,13 @@ public final class Goal
         return filterBy(Task::isDone);
     }
 
-    /** Aggregated status of this goal. */
+    /** Aggregated status of this goal; does not load deferred tasks. */
     public Status getStatus()
     {
+        if (!isLoaded())
+        {
+            return header.getStatus();
+        }
         if (isStatus(Status.COMPLETED))
         {
             return Status.COMPLETED;
@@ -77,7 +260,7 @@ public final class Goal
     /** Mark all tasks as complete or not started. */
     public void setAllTasksCompleted(boolean completed)
     {
-        for (Task task : tasks)
+        for (Task task : getTasks())
         {
             task.setStatus(completed ? Status.COMPLETED : Status.NOT_STARTED);
         }
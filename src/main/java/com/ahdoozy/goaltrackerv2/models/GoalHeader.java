@@ -0,0 +1,48 @@
+package com.ahdoozy.goaltrackerv2.models;
+
+import com.ahdoozy.goaltrackerv2.models.enums.Status;
+import com.ahdoozy.goaltrackerv2.models.enums.TaskType;
+import lombok.Getter;
+
+/**
+ * Summary of a goal persisted next to the full goal data: what the home list shows
+ * and what sweeps need to decide whether a goal has work, without any of its tasks.
+ */
+@Getter
+public final class GoalHeader
+{
+    private String description;
+    private int displayOrder;
+    private boolean pinned;
+    private boolean keepLive;
+    private int taskCount;
+    private int completedCount;
+    // Bit per TaskType ordinal with at least one incomplete task
+    private int incompleteTypes;
+    private Status status;
+
+    public static GoalHeader of(Goal goal)
+    {
+        final GoalHeader header = new GoalHeader();
+        header.description = goal.getDescription();
+        header.displayOrder = goal.getDisplayOrder();
+        header.pinned = goal.isPinned();
+        header.keepLive = goal.isKeepLive();
+        header.taskCount = goal.getTaskCount();
+        header.completedCount = goal.getCompletedCount();
+        for (TaskType type : TaskType.values())
+        {
+            if (goal.hasIncomplete(type))
+            {
+                header.incompleteTypes |= 1 << type.ordinal();
+            }
+        }
+        header.status = goal.getStatus();
+        return header;
+    }
+
+    public boolean hasIncomplete(TaskType type)
+    {
+        return (incompleteTypes & (1 << type.ordinal())) != 0;
+    }
+}
@@ -0,0 +1,213 @@
+package com.ahdoozy.goaltrackerv2.models;
+
+import com.ahdoozy.goaltrackerv2.models.task.Task;
+import com.ahdoozy.goaltrackerv2.models.task.TaskKey;
+import com.ahdoozy.goaltrackerv2.utils.ReorderableList;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of a goal's tasks by {@link TaskKey}, plus the task tree implied by indent levels
+ * (parent, subtree range and child count per task), so duplicate checks are hash lookups
+ * and subtree operations touch only the subtree. It is not patched in place: after an add,
+ * remove, replace or reorder (seen through {@link ReorderableList#getVersion()}) the first
+ * query rebuilds it in a single pass. An indent change only marks the tree stale, and the
+ * tree arrays are then recomputed in one pass without rebuilding the keys or allocating.
+ * Only a goal's own index ({@link Goal#getTaskIndex()}) hears about indent changes; a
+ * standalone index must be {@link #invalidate() invalidated} after one.
+ * Must be used on the EDT, like the task list itself.
+ */
+public final class TaskIndex
+{
+    private final ReorderableList<Task> tasks;
+    // Goal whose tasks report indent changes to this index, or null for a standalone index
+    private final Goal goal;
+    private int builtVersion = -1;
+    private boolean treeStale = true;
+
+    // key -> ascending positions of tasks with that key
+    private final Map<TaskKey, List<Integer>> positions = new HashMap<>();
+    private final Map<Task, Integer> indexOf = new IdentityHashMap<>();
+
+    // Tree by list position: parent position (-1 for top level), last descendant position, direct children
+    private int[] parent = new int[0];
+    private int[] subtreeEnd = new int[0];
+    private int[] childCount = new int[0];
+    // Scratch stack of open ancestors while building the tree
+    private int[] open = new int[0];
+    private int[] openIndent = new int[0];
+
+    public TaskIndex(ReorderableList<Task> tasks)
+    {
+        this(tasks, null);
+    }
+
+    TaskIndex(ReorderableList<Task> tasks, Goal goal)
+    {
+        this.tasks = tasks;
+        this.goal = goal;
+    }
+
+    /** True if this index was built for the given list instance. */
+    public boolean isFor(ReorderableList<Task> list)
+    {
+        return tasks == list;
+    }
+
+    /** Force a rebuild on the next query, after a task's key changed in place (e.g. an edit). */
+    public void invalidate()
+    {
+        builtVersion = -1;
+    }
+
+    /** Recompute the tree on the next query, after a task's indent level changed. */
+    void indentChanged()
+    {
+        treeStale = true;
+    }
+
+    /** True if any task in the goal has the given key. */
+    public boolean contains(TaskKey key)
+    {
+        ensureCurrent();
+        return positions.containsKey(key);
+    }
+
+    /** Position of a task in the list, or -1; identity based. */
+    public int indexOf(Task task)
+    {
+        ensureCurrent();
+        return indexOf.getOrDefault(task, -1);
+    }
+
+    /** The task this one is nested beneath, or null if it is top level or not in the list. */
+    public Task getParent(Task task)
+    {
+        final int i = indexOf(task);
+        return i < 0 || parent[i] < 0 ? null : tasks.get(parent[i]);
+    }
+
+    /** Number of tasks nested directly beneath this one. */
+    public int getChildCount(Task task)
+    {
+        final int i = indexOf(task);
+        return i < 0 ? 0 : childCount[i];
+    }
+
+    /** Position of the last task nested beneath this one, or its own position if it has none; -1 if absent. */
+    public int getSubtreeEnd(Task task)
+    {
+        final int i = indexOf(task);
+        return i < 0 ? -1 : subtreeEnd[i];
+    }
+
+    /**
+     * The task followed by everything nested beneath it, as a read-only view
+     * that is valid until the list next changes. Empty if the task is absent.
+     */
+    public List<Task> getSubtree(Task task)
+    {
+        final int i = indexOf(task);
+        if (i < 0)
+        {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(tasks.subList(i, subtreeEnd[i] + 1));
+    }
+
+    /**
+     * True if a task with the given key is nested beneath {@code parent},
+     * i.e. between it and its next sibling or parent.
+     */
+    public boolean containsUnder(Task parent, TaskKey key)
+    {
+        ensureCurrent();
+        final List<Integer> matches = positions.get(key);
+        final int start = indexOf.getOrDefault(parent, -1);
+        if (matches == null || start < 0)
+        {
+            return false;
+        }
+
+        // First match after the parent, then check it is still inside the parent's subtree
+        int i = Collections.binarySearch(matches, start + 1);
+        if (i < 0)
+        {
+            i = -i - 1;
+        }
+        return i < matches.size() && matches.get(i) <= subtreeEnd[start];
+    }
+
+    private void ensureCurrent()
+    {
+        if (builtVersion != tasks.getVersion())
+        {
+            rebuildKeys();
+        }
+        if (treeStale)
+        {
+            rebuildTree();
+        }
+    }
+
+    private void rebuildKeys()
+    {
+        positions.clear();
+        indexOf.clear();
+        for (int i = 0; i < tasks.size(); i++)
+        {
+            final Task task = tasks.get(i);
+            if (goal != null)
+            {
+                task.attachTo(goal);
+            }
+            indexOf.put(task, i);
+            positions.computeIfAbsent(task.getKey(), k -> new ArrayList<>(1)).add(i);
+        }
+        builtVersion = tasks.getVersion();
+        treeStale = true;
+    }
+
+    private void rebuildTree()
+    {
+        final int size = tasks.size();
+        if (parent.length != size)
+        {
+            parent = new int[size];
+            subtreeEnd = new int[size];
+            childCount = new int[size];
+            open = new int[size];
+            openIndent = new int[size];
+        }
+
+        // Open ancestors, with strictly increasing indents
+        int depth = 0;
+        for (int i = 0; i < size; i++)
+        {
+            // A task closes every open subtree that is not indented less than it
+            final int indent = tasks.get(i).getIndentLevel();
+            while (depth > 0 && openIndent[depth - 1] >= indent)
+            {
+                subtreeEnd[open[--depth]] = i - 1;
+            }
+            parent[i] = depth > 0 ? open[depth - 1] : -1;
+            childCount[i] = 0;
+            if (depth > 0)
+            {
+                childCount[open[depth - 1]]++;
+            }
+            open[depth] = i;
+            openIndent[depth++] = indent;
+        }
+        while (depth > 0)
+        {
+            subtreeEnd[open[--depth]] = size - 1;
+        }
+        treeStale = false;
+    }
+}
@@ -6,7 +6,6 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
 
-import java.awt.image.BufferedImage;
 import com.google.gson.annotations.SerializedName;
 import com.ahdoozy.goaltrackerv2.models.enums.Status;
 
@@ -15,11 +14,10 @@ import com.ahdoozy.goaltrackerv2.models.enums.Status;
 @SuperBuilder
 /**
  * Task representing acquisition of an item.
- * Tracks item ID, name, desired quantity, acquired count, and cached icon.
+ * Tracks item ID, name, desired quantity and acquired count.
  */
 public final class ItemTask extends Task
 {
-    private transient BufferedImage cachedIcon;
     @Builder.Default
     @SerializedName("quantity")
     private int quantity = 1;
@@ -79,6 +77,12 @@ public final class ItemTask extends Task
         return itemName;
     }
 
+    @Override
+    public TaskKey getKey()
+    {
+        return TaskKey.item(itemId, quantity);
+    }
+
     @Override
     public TaskType getType()
     {
@@ -34,6 +34,12 @@ public final class ManualTask extends Task
         return description;
     }
 
+    @Override
+    public TaskKey getKey()
+    {
+        return TaskKey.manual(description);
+    }
+
     @Override
     public TaskType getType()
     {
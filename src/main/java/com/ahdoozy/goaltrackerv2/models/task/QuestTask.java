@@ -69,6 +69,12 @@ public final class QuestTask extends Task
         return quest.getName();
     }
 
+    @Override
+    public TaskKey getKey()
+    {
+        return TaskKey.quest(quest);
+    }
+
     @Override
     public TaskType getType()
     {
@@ -30,6 +30,12 @@ public final class SkillLevelTask extends Task
         return String.format("Reach level %d %s", level, skill.getName());
     }
 
+    @Override
+    public TaskKey getKey()
+    {
+        return TaskKey.skillLevel(skill, level);
+    }
+
     @Override
     public TaskType getType()
     {
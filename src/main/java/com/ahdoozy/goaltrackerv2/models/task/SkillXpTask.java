@@ -30,6 +30,12 @@ public final class SkillXpTask extends Task
         return String.format("%d %s XP", xp, skill.getName());
     }
 
+    @Override
+    public TaskKey getKey()
+    {
+        return TaskKey.skillXp(skill, xp);
+    }
+
     @Override
     public TaskType getType()
     {
@@ -1,8 +1,10 @@
 package com.ahdoozy.goaltrackerv2.models.task;
 
 import com.google.gson.annotations.SerializedName;
+import com.ahdoozy.goaltrackerv2.models.Goal;
 import com.ahdoozy.goaltrackerv2.models.enums.Status;
 import com.ahdoozy.goaltrackerv2.models.enums.TaskType;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
@@ -29,6 +31,40 @@ public abstract class Task
     @SerializedName("indent_level")
     private int indentLevel = 0;
 
+    // Goal whose summary or index last covered this task; told when the status or indent changes
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient volatile Goal owner;
+
+    /**
+     * Report status and indent changes to {@code goal} from now on. Goals attach their tasks
+     * whenever they count or index them; a goal told about a task it no longer holds just
+     * recounts or rebuilds once.
+     */
+    public void attachTo(Goal goal) {
+        this.owner = goal;
+    }
+
+    public void setStatus(Status status) {
+        if (this.status != status) {
+            this.status = status;
+            final Goal goal = owner;
+            if (goal != null) {
+                goal.taskStatusChanged();
+            }
+        }
+    }
+
+    public void setIndentLevel(int indentLevel) {
+        if (this.indentLevel != indentLevel) {
+            this.indentLevel = indentLevel;
+            final Goal goal = owner;
+            if (goal != null) {
+                goal.taskIndentChanged();
+            }
+        }
+    }
+
     public boolean isDone() {
         return Status.COMPLETED.equals(this.status);
     }
@@ -36,13 +72,13 @@ public abstract class Task
     public void indent() {
         if (isFullyIndented()) return;
 
-        indentLevel += 1;
+        setIndentLevel(indentLevel + 1);
     }
 
     public void unindent() {
         if (isNotIndented()) return;
 
-        indentLevel -= 1;
+        setIndentLevel(indentLevel - 1);
     }
 
     public boolean isIndented() {
@@ -70,4 +106,9 @@ public abstract class Task
     abstract public String toString();
 
     abstract public TaskType getType();
+
+    /**
+     * Structural identity of this task, used for duplicate and prerequisite checks.
+     */
+    abstract public TaskKey getKey();
 }
@@ -0,0 +1,68 @@
+package com.ahdoozy.goaltrackerv2.models.task;
+
+import com.ahdoozy.goaltrackerv2.models.enums.TaskType;
+import lombok.Value;
+import net.runelite.api.Quest;
+import net.runelite.api.Skill;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Structural identity of a task: its type, what it targets (skill, quest, item or text)
+ * and its threshold (level, XP or quantity). Two tasks with equal keys track the same
+ * thing regardless of status, progress or indent.
+ */
+@Value
+public class TaskKey
+{
+    TaskType type;
+    // Skill or quest ordinal, item id, or -1 when unset
+    int target;
+    // Level, XP or quantity; 0 when the type has none
+    int threshold;
+    // Manual task description, otherwise null
+    String text;
+
+    public static TaskKey skillLevel(Skill skill, int level)
+    {
+        return new TaskKey(TaskType.SKILL_LEVEL, skill == null ? -1 : skill.ordinal(), level, null);
+    }
+
+    public static TaskKey skillXp(Skill skill, int xp)
+    {
+        return new TaskKey(TaskType.SKILL_XP, skill == null ? -1 : skill.ordinal(), xp, null);
+    }
+
+    public static TaskKey quest(Quest quest)
+    {
+        return new TaskKey(TaskType.QUEST, quest == null ? -1 : quest.ordinal(), 0, null);
+    }
+
+    public static TaskKey item(int itemId, int quantity)
+    {
+        return new TaskKey(TaskType.ITEM, itemId, quantity, null);
+    }
+
+    public static TaskKey manual(String description)
+    {
+        return new TaskKey(TaskType.MANUAL, -1, 0, description);
+    }
+
+    /**
+     * Group tasks that share a key, keeping the first-seen order of keys and of the tasks
+     * within each group, so duplicated tasks can be evaluated once and share the result.
+     */
+    public static <T extends Task> List<List<T>> group(Collection<T> tasks)
+    {
+        final Map<TaskKey, List<T>> groups = new LinkedHashMap<>();
+        for (T task : tasks)
+        {
+            groups.computeIfAbsent(task.getKey(), k -> new ArrayList<>(1)).add(task);
+        }
+        return new ArrayList<>(groups.values());
+    }
+}
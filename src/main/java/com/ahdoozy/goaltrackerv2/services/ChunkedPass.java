@@ -0,0 +1,101 @@
+package com.ahdoozy.goaltrackerv2.services;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * One cooperative evaluation pass over a list of items.
+ * Each invocation processes items until the time budget is used up and returns false
+ * while work remains, which makes the client thread run it again on a later frame.
+ * At least one item is processed per slice so a pass always makes progress. A cancelled
+ * pass finishes at its next slice without running its completion.
+ */
+@Slf4j
+final class ChunkedPass<T> implements BooleanSupplier
+{
+    private final String name;
+    private final List<T> items;
+    private final Consumer<T> step;
+    private final Runnable onComplete;
+    private final long budgetNanos;
+    private final LongSupplier clock;
+    private final BooleanSupplier cancelled;
+
+    private int next;
+    private int slices;
+    private long startedAt = -1;
+
+    ChunkedPass(String name, List<T> items, Consumer<T> step, Runnable onComplete, long budgetNanos, LongSupplier clock)
+    {
+        this(name, items, step, onComplete, budgetNanos, clock, () -> false);
+    }
+
+    ChunkedPass(String name, List<T> items, Consumer<T> step, Runnable onComplete, long budgetNanos, LongSupplier clock,
+        BooleanSupplier cancelled)
+    {
+        this.name = name;
+        this.items = items;
+        this.step = step;
+        this.onComplete = onComplete;
+        this.budgetNanos = budgetNanos;
+        this.clock = clock;
+        this.cancelled = cancelled;
+    }
+
+    @Override
+    public boolean getAsBoolean()
+    {
+        if (cancelled.getAsBoolean())
+        {
+            log.debug("{}: cancelled after {} of {} item(s)", name, next, items.size());
+            return true;
+        }
+        final long sliceStart = clock.getAsLong();
+        if (startedAt < 0)
+        {
+            startedAt = sliceStart;
+        }
+        slices++;
+
+        while (next < items.size())
+        {
+            final T item = items.get(next++);
+            try
+            {
+                step.accept(item);
+            }
+            catch (Exception ex)
+            {
+                log.warn("{}: evaluation failed for {}", name, item, ex);
+            }
+
+            if (next < items.size() && clock.getAsLong() - sliceStart >= budgetNanos)
+            {
+                return false;
+            }
+        }
+
+        log.debug("{}: evaluated {} item(s) in {} slice(s) over {} µs", name, items.size(), slices,
+            TimeUnit.NANOSECONDS.toMicros(clock.getAsLong() - startedAt));
+        if (onComplete != null)
+        {
+            onComplete.run();
+        }
+        return true;
+    }
+
+    boolean isComplete()
+    {
+        return next >= items.size();
+    }
+
+    int getSlices()
+    {
+        return slices;
+    }
+}
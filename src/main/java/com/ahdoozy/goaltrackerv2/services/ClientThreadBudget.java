@@ -0,0 +1,100 @@
+package com.ahdoozy.goaltrackerv2.services;
+
+import com.ahdoozy.goaltrackerv2.GoalTrackerV2Config;
+import net.runelite.client.callback.ClientThread;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs large evaluation passes on the client thread in budgeted chunks.
+ * A pass is split across successive client frames so that no single frame spends more
+ * than the configured budget on plugin work. Passes are named: submitting a pass while
+ * one with the same name is still running queues only the latest request, which starts
+ * once the running pass finishes, instead of stacking duplicate work. {@link #cancelAll()}
+ * stops every pass when the plugin shuts down.
+ */
+@Singleton
+public final class ClientThreadBudget
+{
+    @Inject private ClientThread clientThread;
+    @Inject private GoalTrackerV2Config config;
+
+    // Only touched from the client thread
+    private final Set<String> running = new HashSet<>();
+    private final Map<String, Runnable> queued = new HashMap<>();
+    // Bumped by cancelAll; passes and queued reruns submitted before that stop without completing
+    private final AtomicInteger generation = new AtomicInteger();
+
+    /**
+     * Evaluate every item from {@code items} with {@code step}, then run {@code onComplete}.
+     * The item list is collected on the client thread when the pass starts, and
+     * {@code onComplete} also runs on the client thread once all chunks have finished.
+     */
+    public <T> void submit(String name, Supplier<? extends List<? extends T>> items, Consumer<T> step, Runnable onComplete)
+    {
+        final int submitted = generation.get();
+        clientThread.invoke(() -> start(submitted, name, items, step, onComplete));
+    }
+
+    /**
+     * Stop every running pass and drop queued ones; none of their {@code onComplete} callbacks
+     * run. Passes submitted afterwards run as usual.
+     */
+    public void cancelAll()
+    {
+        generation.incrementAndGet();
+        clientThread.invoke(() -> {
+            running.clear();
+            queued.clear();
+        });
+    }
+
+    private <T> void start(int submitted, String name, Supplier<? extends List<? extends T>> items, Consumer<T> step, Runnable onComplete)
+    {
+        if (submitted != generation.get())
+        {
+            return;
+        }
+        if (!running.add(name))
+        {
+            queued.put(name, () -> start(submitted, name, items, step, onComplete));
+            return;
+        }
+
+        final List<T> snapshot = new ArrayList<>(items.get());
+        final ChunkedPass<T> pass = new ChunkedPass<>(name, snapshot, step, () -> {
+            running.remove(name);
+            if (onComplete != null)
+            {
+                onComplete.run();
+            }
+            final Runnable next = queued.remove(name);
+            if (next != null)
+            {
+                next.run();
+            }
+        }, budgetNanos(), System::nanoTime, () -> submitted != generation.get());
+
+        // Run the first slice now; anything left is picked up on following frames
+        if (!pass.getAsBoolean())
+        {
+            clientThread.invokeLater(pass);
+        }
+    }
+
+    private long budgetNanos()
+    {
+        return TimeUnit.MICROSECONDS.toNanos(Math.max(100, config.clientThreadBudget()));
+    }
+}
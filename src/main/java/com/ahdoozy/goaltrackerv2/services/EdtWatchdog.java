@@ -0,0 +1,248 @@
+package com.ahdoozy.goaltrackerv2.services;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.inject.Singleton;
+import java.awt.EventQueue;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional diagnostic that detects Swing event dispatch thread (EDT) stalls.
+ * A probe is posted to the EDT on a short interval; while a probe waits longer than
+ * the threshold, the EDT stack is sampled and each sample is attributed to the plugin
+ * component that entered the stalled work. A ranked summary is logged per stall and
+ * again (cumulative) when the watchdog stops.
+ */
+@Slf4j
+@Singleton
+public final class EdtWatchdog
+{
+    private static final String PLUGIN_PACKAGE = "com.ahdoozy.goaltrackerv2.";
+    private static final String OUTSIDE_PLUGIN = "(outside plugin)";
+    private static final int SUMMARY_SIZE = 5;
+
+    /** Samples attributed to one component: how often it was on the stack, and where it was busy. */
+    static final class Attribution
+    {
+        int samples;
+        final Map<String, Integer> hotFrames = new HashMap<>();
+
+        void add(String hotFrame, int count)
+        {
+            samples += count;
+            hotFrames.merge(hotFrame, count, Integer::sum);
+        }
+
+        String hottest()
+        {
+            String best = null;
+            int bestCount = -1;
+            for (Map.Entry<String, Integer> e : hotFrames.entrySet())
+            {
+                if (e.getValue() > bestCount)
+                {
+                    best = e.getKey();
+                    bestCount = e.getValue();
+                }
+            }
+            return best;
+        }
+    }
+
+    private final Map<String, Attribution> totals = new HashMap<>();
+    private final Map<String, Attribution> currentStall = new HashMap<>();
+
+    private ScheduledExecutorService sampler;
+    private long thresholdNanos;
+    private volatile Thread edt;
+
+    // nanoTime the pending probe was posted at, or 0 when no probe is outstanding
+    private volatile long probePostedAt;
+    private boolean stalled;
+    private int stallCount;
+
+    public synchronized boolean isRunning()
+    {
+        return sampler != null;
+    }
+
+    /**
+     * Start watching the EDT. Restarts with the new threshold if already running.
+     */
+    public synchronized void start(int thresholdMs)
+    {
+        stop();
+
+        thresholdNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, thresholdMs));
+        probePostedAt = 0;
+        stalled = false;
+        currentStall.clear();
+
+        // Sample a few times per threshold window so short stalls still get attributed
+        final long intervalMs = Math.max(5, Math.min(50, thresholdMs / 4));
+        sampler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "goaltracker-edt-watchdog");
+            t.setDaemon(true);
+            return t;
+        });
+        EventQueue.invokeLater(() -> edt = Thread.currentThread());
+        sampler.scheduleAtFixedRate(this::tick, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        log.info("EDT watchdog started (threshold {} ms, sampling every {} ms)", thresholdMs, intervalMs);
+    }
+
+    /**
+     * Stop watching and log the cumulative ranking collected since start.
+     */
+    public synchronized void stop()
+    {
+        if (sampler == null)
+        {
+            return;
+        }
+        sampler.shutdownNow();
+        sampler = null;
+
+        if (stallCount > 0)
+        {
+            log.info("EDT watchdog summary: {} stall(s)\n{}", stallCount, formatRanking(totals));
+        }
+        totals.clear();
+        currentStall.clear();
+        stallCount = 0;
+    }
+
+    private synchronized void tick()
+    {
+        try
+        {
+            final long posted = probePostedAt;
+            if (posted == 0)
+            {
+                postProbe();
+                return;
+            }
+
+            final long waited = System.nanoTime() - posted;
+            if (waited < thresholdNanos)
+            {
+                return;
+            }
+
+            stalled = true;
+            final Thread thread = edt;
+            if (thread != null)
+            {
+                final String[] attribution = attribute(thread.getStackTrace());
+                currentStall.computeIfAbsent(attribution[0], k -> new Attribution()).add(attribution[1], 1);
+            }
+        }
+        catch (Exception ex)
+        {
+            log.debug("EDT watchdog sample failed", ex);
+        }
+    }
+
+    private void postProbe()
+    {
+        final long posted = System.nanoTime();
+        probePostedAt = posted;
+        EventQueue.invokeLater(() -> onProbe(posted));
+    }
+
+    private synchronized void onProbe(long posted)
+    {
+        if (probePostedAt != posted)
+        {
+            return;
+        }
+        probePostedAt = 0;
+        if (!stalled)
+        {
+            return;
+        }
+
+        stalled = false;
+        stallCount++;
+        final long stallMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - posted);
+        log.warn("EDT stalled for {} ms\n{}", stallMs, formatRanking(currentStall));
+
+        for (Map.Entry<String, Attribution> e : currentStall.entrySet())
+        {
+            Attribution total = totals.computeIfAbsent(e.getKey(), k -> new Attribution());
+            for (Map.Entry<String, Integer> hot : e.getValue().hotFrames.entrySet())
+            {
+                total.add(hot.getKey(), hot.getValue());
+            }
+        }
+        currentStall.clear();
+    }
+
+    /**
+     * Attribute one EDT stack sample.
+     * @return {entry, hot}: the outermost plugin frame (the component that started the work)
+     *         and the innermost plugin frame (where it was busy when sampled)
+     */
+    static String[] attribute(StackTraceElement[] stack)
+    {
+        String entry = null;
+        String hot = null;
+        for (StackTraceElement frame : stack)
+        {
+            final String className = frame.getClassName();
+            if (!className.startsWith(PLUGIN_PACKAGE) || className.equals(EdtWatchdog.class.getName()))
+            {
+                continue;
+            }
+            final String name = describe(frame);
+            if (hot == null)
+            {
+                hot = name;
+            }
+            entry = name;
+        }
+        if (entry == null)
+        {
+            return new String[] { OUTSIDE_PLUGIN, OUTSIDE_PLUGIN };
+        }
+        return new String[] { entry, hot };
+    }
+
+    private static String describe(StackTraceElement frame)
+    {
+        String className = frame.getClassName().substring(PLUGIN_PACKAGE.length());
+        final int inner = className.indexOf('$');
+        if (inner >= 0)
+        {
+            className = className.substring(0, inner);
+        }
+        return className + "." + frame.getMethodName();
+    }
+
+    static String formatRanking(Map<String, Attribution> attributions)
+    {
+        int all = 0;
+        for (Attribution a : attributions.values())
+        {
+            all += a.samples;
+        }
+
+        final List<Map.Entry<String, Attribution>> ranked = new ArrayList<>(attributions.entrySet());
+        ranked.sort((a, b) -> Integer.compare(b.getValue().samples, a.getValue().samples));
+
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < Math.min(SUMMARY_SIZE, ranked.size()); i++)
+        {
+            final Map.Entry<String, Attribution> e = ranked.get(i);
+            final int samples = e.getValue().samples;
+            sb.append(String.format("  %d. %s: %d sample(s) (%d%%), hottest %s%n",
+                i + 1, e.getKey(), samples, all == 0 ? 0 : samples * 100 / all, e.getValue().hottest()));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,338 @@
+package com.ahdoozy.goaltrackerv2.services;
+
+import javax.swing.Icon;
+import java.awt.AlphaComposite;
+import java.awt.Component;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Packs 16x16 task icons into shared atlas pages, so icon memory grows with the number of
+ * distinct icons rather than with the rows showing them. Each icon paints its tile of a page.
+ * A released icon keeps painting from its tile until the tile is needed again: clean tiles
+ * are used first, and a released icon that is still referenced gets a private copy only when
+ * its tile is overwritten. Tiles on the last page move down into free space so emptied pages
+ * can be dropped.
+ */
+final class IconAtlas
+{
+    static final int ICON_SIZE = 16;
+    private static final int TILES_PER_ROW = 16;
+    static final int TILES_PER_PAGE = TILES_PER_ROW * TILES_PER_ROW;
+
+    private final List<Page> pages = new ArrayList<>();
+    private GraphicsConfiguration graphicsConfiguration;
+    private int liveCount;
+    private int pagesCreated;
+
+    /** Scale an image into a free tile and return the icon that paints it. */
+    synchronized Icon add(Image image)
+    {
+        final AtlasIcon icon = new AtlasIcon(this);
+        place(icon);
+        final Graphics2D g = pages.get(icon.page).image.createGraphics();
+        try
+        {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(image, tileX(icon.tile), tileY(icon.tile), ICON_SIZE, ICON_SIZE, null);
+        }
+        finally
+        {
+            g.dispose();
+        }
+        return icon;
+    }
+
+    /**
+     * Free an icon's tile. Rows still showing the icon keep painting it until they are
+     * refreshed, from the tile while it is unused and from a private copy after that.
+     */
+    synchronized void release(Icon released)
+    {
+        if (!(released instanceof AtlasIcon) || ((AtlasIcon) released).released)
+        {
+            return;
+        }
+        final AtlasIcon icon = (AtlasIcon) released;
+        final Page page = pages.get(icon.page);
+        icon.released = true;
+        page.owners[icon.tile] = null;
+        page.ghosts[icon.tile] = new WeakReference<>(icon);
+        page.liveCount--;
+        liveCount--;
+        compact();
+    }
+
+    /** A standalone 16x16 ARGB copy of an icon, e.g. to persist it. */
+    synchronized BufferedImage copy(Icon icon)
+    {
+        final BufferedImage copy = new BufferedImage(ICON_SIZE, ICON_SIZE, BufferedImage.TYPE_INT_ARGB);
+        final Graphics g = copy.createGraphics();
+        try
+        {
+            icon.paintIcon(null, g, 0, 0);
+        }
+        finally
+        {
+            g.dispose();
+        }
+        return copy;
+    }
+
+    synchronized int getPageCount()
+    {
+        return pages.size();
+    }
+
+    /** Pages allocated so far, including ones since dropped by compaction. */
+    synchronized int getPagesCreated()
+    {
+        return pagesCreated;
+    }
+
+    synchronized int getLiveCount()
+    {
+        return liveCount;
+    }
+
+    private synchronized void paint(AtlasIcon icon, Graphics g, int x, int y)
+    {
+        if (icon.detached != null)
+        {
+            g.drawImage(icon.detached, x, y, null);
+            return;
+        }
+        final int sx = tileX(icon.tile);
+        final int sy = tileY(icon.tile);
+        g.drawImage(pages.get(icon.page).image, x, y, x + ICON_SIZE, y + ICON_SIZE, sx, sy, sx + ICON_SIZE, sy + ICON_SIZE, null);
+    }
+
+    // Assign a clean tile, else the tile of a released icon, adding a page only if every tile is live
+    private void place(AtlasIcon icon)
+    {
+        int page = -1;
+        int tile = -1;
+        for (int p = 0; p < pages.size() && tile < 0; p++)
+        {
+            tile = pages.get(p).cleanTile();
+            page = p;
+        }
+        for (int p = 0; p < pages.size() && tile < 0; p++)
+        {
+            if (pages.get(p).liveCount < TILES_PER_PAGE)
+            {
+                tile = pages.get(p).releasedTile();
+                page = p;
+                reclaim(pages.get(p), tile);
+            }
+        }
+        if (tile < 0)
+        {
+            pages.add(new Page(createPage()));
+            pagesCreated++;
+            page = pages.size() - 1;
+            tile = 0;
+        }
+        final Page target = pages.get(page);
+        target.owners[tile] = icon;
+        target.liveCount++;
+        icon.page = page;
+        icon.tile = tile;
+        liveCount++;
+    }
+
+    // Give a released icon that is still referenced its own copy, then wipe its tile
+    private void reclaim(Page page, int tile)
+    {
+        final WeakReference<AtlasIcon> ghost = page.ghosts[tile];
+        page.ghosts[tile] = null;
+        final AtlasIcon icon = ghost == null ? null : ghost.get();
+        if (icon != null)
+        {
+            icon.detached = copyTile(page.image, tile);
+        }
+        clear(page.image, tile);
+    }
+
+    // Move the last page's tiles into free tiles on earlier pages whenever they all fit there
+    private void compact()
+    {
+        while (pages.size() > 1)
+        {
+            final int last = pages.size() - 1;
+            if (liveCount > last * TILES_PER_PAGE)
+            {
+                return;
+            }
+            final Page lastPage = pages.remove(last);
+            for (int tile = 0; tile < TILES_PER_PAGE; tile++)
+            {
+                if (lastPage.ghosts[tile] != null)
+                {
+                    reclaim(lastPage, tile);
+                }
+            }
+            for (AtlasIcon icon : lastPage.owners)
+            {
+                if (icon == null)
+                {
+                    continue;
+                }
+                final int fromX = tileX(icon.tile);
+                final int fromY = tileY(icon.tile);
+                liveCount--;
+                place(icon);
+                final Graphics2D g = pages.get(icon.page).image.createGraphics();
+                try
+                {
+                    g.drawImage(lastPage.image, tileX(icon.tile), tileY(icon.tile), tileX(icon.tile) + ICON_SIZE, tileY(icon.tile) + ICON_SIZE,
+                        fromX, fromY, fromX + ICON_SIZE, fromY + ICON_SIZE, null);
+                }
+                finally
+                {
+                    g.dispose();
+                }
+            }
+        }
+    }
+
+    private static BufferedImage copyTile(BufferedImage page, int tile)
+    {
+        final BufferedImage copy = new BufferedImage(ICON_SIZE, ICON_SIZE, BufferedImage.TYPE_INT_ARGB);
+        final Graphics g = copy.createGraphics();
+        try
+        {
+            final int sx = tileX(tile);
+            final int sy = tileY(tile);
+            g.drawImage(page, 0, 0, ICON_SIZE, ICON_SIZE, sx, sy, sx + ICON_SIZE, sy + ICON_SIZE, null);
+        }
+        finally
+        {
+            g.dispose();
+        }
+        return copy;
+    }
+
+    private static void clear(BufferedImage page, int tile)
+    {
+        final Graphics2D g = page.createGraphics();
+        try
+        {
+            g.setComposite(AlphaComposite.Clear);
+            g.fillRect(tileX(tile), tileY(tile), ICON_SIZE, ICON_SIZE);
+        }
+        finally
+        {
+            g.dispose();
+        }
+    }
+
+    private BufferedImage createPage()
+    {
+        final int size = TILES_PER_ROW * ICON_SIZE;
+        if (GraphicsEnvironment.isHeadless())
+        {
+            return new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        }
+        if (graphicsConfiguration == null)
+        {
+            graphicsConfiguration = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice().getDefaultConfiguration();
+        }
+        return graphicsConfiguration.createCompatibleImage(size, size, Transparency.TRANSLUCENT);
+    }
+
+    private static int tileX(int tile)
+    {
+        return (tile % TILES_PER_ROW) * ICON_SIZE;
+    }
+
+    private static int tileY(int tile)
+    {
+        return (tile / TILES_PER_ROW) * ICON_SIZE;
+    }
+
+    private static final class Page
+    {
+        private final BufferedImage image;
+        // Live icons by tile
+        private final AtlasIcon[] owners = new AtlasIcon[TILES_PER_PAGE];
+        // Released icons by tile, whose pixels stay until the tile is needed
+        @SuppressWarnings("unchecked")
+        private final WeakReference<AtlasIcon>[] ghosts = new WeakReference[TILES_PER_PAGE];
+        private int liveCount;
+
+        private Page(BufferedImage image)
+        {
+            this.image = image;
+        }
+
+        // Lowest tile with neither a live nor a released icon, or -1
+        private int cleanTile()
+        {
+            for (int tile = 0; tile < TILES_PER_PAGE; tile++)
+            {
+                if (owners[tile] == null && ghosts[tile] == null)
+                {
+                    return tile;
+                }
+            }
+            return -1;
+        }
+
+        // Lowest tile without a live icon, or -1
+        private int releasedTile()
+        {
+            for (int tile = 0; tile < TILES_PER_PAGE; tile++)
+            {
+                if (owners[tile] == null)
+                {
+                    return tile;
+                }
+            }
+            return -1;
+        }
+    }
+
+    private static final class AtlasIcon implements Icon
+    {
+        private final IconAtlas atlas;
+        // Guarded by the atlas
+        private int page;
+        private int tile;
+        private boolean released;
+        private BufferedImage detached;
+
+        private AtlasIcon(IconAtlas atlas)
+        {
+            this.atlas = atlas;
+        }
+
+        @Override
+        public void paintIcon(Component c, Graphics g, int x, int y)
+        {
+            atlas.paint(this, g, x, y);
+        }
+
+        @Override
+        public int getIconWidth()
+        {
+            return ICON_SIZE;
+        }
+
+        @Override
+        public int getIconHeight()
+        {
+            return ICON_SIZE;
+        }
+    }
+}
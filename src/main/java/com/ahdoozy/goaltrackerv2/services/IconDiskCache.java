@@ -0,0 +1,311 @@
+package com.ahdoozy.goaltrackerv2.services;
+
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.RuneLite;
+
+import javax.inject.Singleton;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scaled item icons kept on disk between client starts, so rows can paint real icons before
+ * {@code ItemManager} has loaded anything. Icons are packed into one atlas file of 16x16 ARGB
+ * tiles, which is memory-mapped, with a separate index file of item id and tile offset pairs
+ * behind a format header. Both files are only ever appended to; an id written twice resolves
+ * to its latest tile.
+ * <p>
+ * {@link #load()} reads the files and must run off the EDT; until it has, lookups only see
+ * icons added this session. Files with another format version, older than {@link #MAX_AGE_MS}
+ * or holding more than {@link #MAX_TILES} tiles are deleted at load, before anything maps
+ * them, and the cache refills from {@code ItemManager}. That keeps the atlas bounded and lets
+ * icons changed by a game update replace the stored ones.
+ */
+@Slf4j
+@Singleton
+public final class IconDiskCache
+{
+    private static final int ICON_SIZE = 16;
+    private static final int TILE_BYTES = ICON_SIZE * ICON_SIZE * Integer.BYTES;
+    private static final String ATLAS_FILE = "item-icons.atlas";
+    private static final String INDEX_FILE = "item-icons.idx";
+    // "GTIC", then the format version and the creation time in millis
+    private static final int MAGIC = 0x47544943;
+    static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = Integer.BYTES * 2 + Long.BYTES;
+    static final int MAX_TILES = 4096;
+    static final long MAX_AGE_MS = TimeUnit.DAYS.toMillis(28);
+
+    private final File directory;
+    // Serializes load and flush, which do their file work outside the monitor
+    private final Object ioLock = new Object();
+    // Tile offset by item id; null until load() has run
+    private Map<Integer, Long> offsets;
+    private MappedByteBuffer atlas;
+    // Icons scaled this session that are not on disk yet
+    private final Map<Integer, int[]> unsaved = new LinkedHashMap<>();
+
+    public IconDiskCache()
+    {
+        this(new File(RuneLite.RUNELITE_DIR, "goal-tracker"));
+    }
+
+    IconDiskCache(File directory)
+    {
+        this.directory = directory;
+    }
+
+    /** The stored icon for an item, or null if it is not cached or the files are not loaded yet. */
+    public synchronized BufferedImage get(int itemId)
+    {
+        final int[] unsavedPixels = unsaved.get(itemId);
+        if (unsavedPixels != null)
+        {
+            return toImage(unsavedPixels);
+        }
+        final Long offset = offsets == null ? null : offsets.get(itemId);
+        if (offset == null)
+        {
+            return null;
+        }
+        final int[] pixels = new int[ICON_SIZE * ICON_SIZE];
+        atlas.duplicate().position(offset.intValue()).asIntBuffer().get(pixels);
+        return toImage(pixels);
+    }
+
+    /** Remember a scaled icon to be written on the next {@link #flush()}. */
+    public synchronized void put(int itemId, BufferedImage icon)
+    {
+        if (icon.getWidth() != ICON_SIZE || icon.getHeight() != ICON_SIZE)
+        {
+            return;
+        }
+        if (offsets == null || !offsets.containsKey(itemId))
+        {
+            unsaved.put(itemId, icon.getRGB(0, 0, ICON_SIZE, ICON_SIZE, null, 0, ICON_SIZE));
+        }
+    }
+
+    /**
+     * Read the index and map the atlas, first deleting files that are outdated, oversized or
+     * of another format. Does nothing once loaded. Call off the EDT.
+     */
+    public void load()
+    {
+        synchronized (ioLock)
+        {
+            synchronized (this)
+            {
+                if (offsets != null)
+                {
+                    return;
+                }
+            }
+            final Map<Integer, Long> read = new HashMap<>();
+            final MappedByteBuffer mapped = read(read);
+            synchronized (this)
+            {
+                offsets = read;
+                atlas = mapped;
+                // Icons added before loading may already be on disk
+                unsaved.keySet().removeAll(read.keySet());
+            }
+        }
+    }
+
+    /** Append icons added since the last flush to the atlas and index files. Call off the EDT. */
+    public void flush()
+    {
+        synchronized (ioLock)
+        {
+            load();
+            final Map<Integer, int[]> pending;
+            synchronized (this)
+            {
+                if (unsaved.isEmpty())
+                {
+                    return;
+                }
+                pending = new LinkedHashMap<>(unsaved);
+            }
+            final Map<Integer, Long> written = write(pending);
+            if (written == null)
+            {
+                return;
+            }
+            final MappedByteBuffer mapped = map();
+            synchronized (this)
+            {
+                if (mapped != null)
+                {
+                    offsets.putAll(written);
+                    atlas = mapped;
+                }
+                unsaved.keySet().removeAll(written.keySet());
+            }
+        }
+    }
+
+    // Fill offsets from the index and map the atlas, or delete both files if they are not reusable
+    private MappedByteBuffer read(Map<Integer, Long> offsets)
+    {
+        final File atlasFile = new File(directory, ATLAS_FILE);
+        final File indexFile = new File(directory, INDEX_FILE);
+        if (!atlasFile.isFile() || !indexFile.isFile())
+        {
+            discard();
+            return null;
+        }
+        final long size = atlasFile.length();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile))))
+        {
+            final int magic = in.readInt();
+            final int version = in.readInt();
+            final long created = in.readLong();
+            if (magic != MAGIC || version != FORMAT_VERSION)
+            {
+                log.debug("Discarding item icon cache with format {}", version);
+                discard();
+                return null;
+            }
+            if (System.currentTimeMillis() - created > MAX_AGE_MS || size > (long) MAX_TILES * TILE_BYTES)
+            {
+                log.debug("Rebuilding item icon cache of {} tiles", size / TILE_BYTES);
+                discard();
+                return null;
+            }
+            try
+            {
+                while (true)
+                {
+                    final int itemId = in.readInt();
+                    final long offset = in.readLong();
+                    if (offset >= 0 && offset + TILE_BYTES <= size)
+                    {
+                        offsets.put(itemId, offset);
+                    }
+                }
+            }
+            catch (EOFException ignored)
+            {
+                // end of index, or a partly written last entry
+            }
+        }
+        catch (EOFException e)
+        {
+            // index shorter than its header
+            discard();
+            return null;
+        }
+        catch (IOException e)
+        {
+            log.warn("Failed to read the item icon cache", e);
+            offsets.clear();
+            return null;
+        }
+        final MappedByteBuffer mapped = map();
+        if (mapped == null)
+        {
+            offsets.clear();
+        }
+        return mapped;
+    }
+
+    // Append tiles and their index entries, starting new files with a header; null on failure
+    private Map<Integer, Long> write(Map<Integer, int[]> pending)
+    {
+        if (!directory.isDirectory() && !directory.mkdirs())
+        {
+            log.warn("Unable to create icon cache directory {}", directory);
+            return null;
+        }
+        final File indexFile = new File(directory, INDEX_FILE);
+        final boolean fresh = !indexFile.isFile();
+        try (FileChannel atlasChannel = FileChannel.open(new File(directory, ATLAS_FILE).toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+             FileChannel indexChannel = FileChannel.open(indexFile.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND))
+        {
+            final Map<Integer, Long> written = new HashMap<>();
+            long offset = atlasChannel.size();
+            final ByteBuffer tiles = ByteBuffer.allocate(pending.size() * TILE_BYTES);
+            final ByteBuffer index = ByteBuffer.allocate((fresh ? HEADER_BYTES : 0) + pending.size() * (Integer.BYTES + Long.BYTES));
+            if (fresh)
+            {
+                index.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(System.currentTimeMillis());
+            }
+            for (Map.Entry<Integer, int[]> entry : pending.entrySet())
+            {
+                tiles.asIntBuffer().put(entry.getValue());
+                tiles.position(tiles.position() + TILE_BYTES);
+                index.putInt(entry.getKey()).putLong(offset);
+                written.put(entry.getKey(), offset);
+                offset += TILE_BYTES;
+            }
+            tiles.flip();
+            index.flip();
+            // Tiles first, so an interrupted write never leaves index entries pointing past the atlas
+            while (tiles.hasRemaining())
+            {
+                atlasChannel.write(tiles);
+            }
+            atlasChannel.force(false);
+            while (index.hasRemaining())
+            {
+                indexChannel.write(index);
+            }
+            log.debug("Saved {} item icons to the disk cache", pending.size());
+            return written;
+        }
+        catch (IOException e)
+        {
+            log.warn("Failed to save item icons", e);
+            return null;
+        }
+    }
+
+    private MappedByteBuffer map()
+    {
+        try (FileChannel channel = FileChannel.open(new File(directory, ATLAS_FILE).toPath(), StandardOpenOption.READ))
+        {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        catch (IOException e)
+        {
+            log.warn("Failed to map the item icon cache", e);
+            return null;
+        }
+    }
+
+    // Only called before the atlas is mapped, since a mapped file cannot be deleted on Windows
+    private void discard()
+    {
+        for (String name : new String[]{INDEX_FILE, ATLAS_FILE})
+        {
+            final File file = new File(directory, name);
+            if (file.exists() && !file.delete())
+            {
+                log.warn("Unable to delete {}", file);
+            }
+        }
+    }
+
+    private static BufferedImage toImage(int[] pixels)
+    {
+        final BufferedImage image = new BufferedImage(ICON_SIZE, ICON_SIZE, BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(0, 0, ICON_SIZE, ICON_SIZE, pixels, 0, ICON_SIZE);
+        return image;
+    }
+}
@@ -0,0 +1,43 @@
+package com.ahdoozy.goaltrackerv2.services;
+
+import net.runelite.api.Client;
+import net.runelite.client.game.ItemManager;
+import net.runelite.client.util.AsyncBufferedImage;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Shared item images keyed by item id, so every task showing an item uses one decoded image.
+ * Images are held softly and requested again if the collector reclaimed them.
+ */
+@Singleton
+public final class ItemIconRegistry
+{
+    @Inject private ItemManager itemManager;
+    @Inject private Client client;
+
+    private final Map<Integer, SoftReference<AsyncBufferedImage>> images = new HashMap<>();
+
+    /**
+     * The item's image, which may still be loading. Images are only requested on the client
+     * thread; elsewhere this returns null until one has been requested.
+     */
+    public synchronized AsyncBufferedImage get(int itemId)
+    {
+        final SoftReference<AsyncBufferedImage> ref = images.get(itemId);
+        AsyncBufferedImage image = ref == null ? null : ref.get();
+        if (image == null && client.isClientThread())
+        {
+            image = itemManager.getImage(itemId);
+            if (image != null)
+            {
+                images.put(itemId, new SoftReference<>(image));
+            }
+        }
+        return image;
+    }
+}
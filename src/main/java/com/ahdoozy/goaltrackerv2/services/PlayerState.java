@@ -0,0 +1,225 @@
+package com.ahdoozy.goaltrackerv2.services;
+
+import net.runelite.api.Client;
+import net.runelite.api.Experience;
+import net.runelite.api.InventoryID;
+import net.runelite.api.Item;
+import net.runelite.api.ItemContainer;
+import net.runelite.api.Quest;
+import net.runelite.api.QuestState;
+import net.runelite.api.Skill;
+import net.runelite.client.game.ItemManager;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Point-in-time view of the player's skills, quest states and held items.
+ * Each value is read from the client the first time it is asked for and reused afterwards,
+ * so every evaluator working from the same snapshot sees consistent state and queries the
+ * client at most once per value. Must be read on the client thread.
+ * <p>
+ * A snapshot can also be restored from persisted values, with no client behind it. Values
+ * that were not persisted then read as unknown: -1 for numbers and null for quest states.
+ */
+public final class PlayerState
+{
+    private static final Skill[] SKILLS = Skill.values();
+    private static final Quest[] QUESTS = Quest.values();
+
+    // Containers counted towards item tasks
+    private static final InventoryID[] HELD_CONTAINERS = {
+        InventoryID.INVENTORY,
+        InventoryID.EQUIPMENT,
+        InventoryID.BANK,
+        InventoryID.SEED_VAULT,
+        InventoryID.GROUP_STORAGE
+    };
+
+    private final Client client;
+    private final ItemManager itemManager;
+
+    private final int[] levels = new int[SKILLS.length];
+    private final int[] xp = new int[SKILLS.length];
+    private final QuestState[] questStates = new QuestState[QUESTS.length];
+
+    // item id -> quantity held across all containers
+    private Map<Integer, Integer> heldById;
+    // normalized item name -> quantity held across all containers
+    private Map<String, Integer> heldByName;
+    // tracked item id -> equivalent count, for restored snapshots only
+    private Map<Integer, Integer> restoredTotals;
+
+    PlayerState(Client client, ItemManager itemManager)
+    {
+        this.client = client;
+        this.itemManager = itemManager;
+        Arrays.fill(levels, -1);
+        Arrays.fill(xp, -1);
+    }
+
+    /**
+     * Rebuild a snapshot from persisted values. It never touches the client and may be read from any thread.
+     */
+    static PlayerState restored(Map<Skill, Integer> xp, Map<Quest, QuestState> quests, Map<Integer, Integer> itemTotals)
+    {
+        final PlayerState state = new PlayerState(null, null);
+        for (Map.Entry<Skill, Integer> e : xp.entrySet())
+        {
+            state.xp[e.getKey().ordinal()] = e.getValue();
+            state.levels[e.getKey().ordinal()] = Experience.getLevelForXp(e.getValue());
+        }
+        for (Map.Entry<Quest, QuestState> e : quests.entrySet())
+        {
+            state.questStates[e.getKey().ordinal()] = e.getValue();
+        }
+        state.restoredTotals = new HashMap<>(itemTotals);
+        return state;
+    }
+
+    /**
+     * Eagerly read every skill, the given quests and all held items,
+     * so later reads are served from the snapshot even across client ticks.
+     */
+    public PlayerState captureAll(Collection<Quest> quests)
+    {
+        for (Skill skill : SKILLS)
+        {
+            getLevel(skill);
+            getXp(skill);
+        }
+        for (Quest quest : quests)
+        {
+            getQuestState(quest);
+        }
+        heldById();
+        return this;
+    }
+
+    public int getLevel(Skill skill)
+    {
+        final int i = skill.ordinal();
+        if (levels[i] < 0 && client != null)
+        {
+            levels[i] = client.getRealSkillLevel(skill);
+        }
+        return levels[i];
+    }
+
+    public int getXp(Skill skill)
+    {
+        final int i = skill.ordinal();
+        if (xp[i] < 0 && client != null)
+        {
+            xp[i] = client.getSkillExperience(skill);
+        }
+        return xp[i];
+    }
+
+    public QuestState getQuestState(Quest quest)
+    {
+        final int i = quest.ordinal();
+        if (questStates[i] == null && client != null)
+        {
+            questStates[i] = quest.getState(client);
+        }
+        return questStates[i];
+    }
+
+    /**
+     * How many of an item the player holds across inventory, equipment, bank, seed vault and
+     * group storage. When a name is known, every variant with the same normalized name counts
+     * as well (e.g. degraded Barrows pieces); the exact id is always included.
+     * Restored snapshots return the persisted count, or -1 if the item was not tracked.
+     */
+    public int countHeld(int itemId, String itemName)
+    {
+        if (restoredTotals != null)
+        {
+            return restoredTotals.getOrDefault(itemId, -1);
+        }
+
+        final int exact = heldById().getOrDefault(itemId, 0);
+        if (itemName == null || itemName.isEmpty() || itemManager == null)
+        {
+            return exact;
+        }
+
+        final String baseName = normalizeItemName(itemName);
+        final int byName = heldByName().getOrDefault(baseName, 0);
+
+        // The exact id is already part of the name total unless its own name normalizes differently
+        return baseName.equals(nameOf(itemId)) ? byName : byName + exact;
+    }
+
+    private Map<Integer, Integer> heldById()
+    {
+        if (heldById == null)
+        {
+            heldById = new HashMap<>();
+            for (InventoryID id : HELD_CONTAINERS)
+            {
+                final ItemContainer container = client.getItemContainer(id);
+                if (container == null)
+                {
+                    continue;
+                }
+                for (Item item : container.getItems())
+                {
+                    if (item != null && item.getId() > 0)
+                    {
+                        heldById.merge(item.getId(), Math.max(1, item.getQuantity()), Integer::sum);
+                    }
+                }
+            }
+        }
+        return heldById;
+    }
+
+    private Map<String, Integer> heldByName()
+    {
+        if (heldByName == null)
+        {
+            heldByName = new HashMap<>();
+            for (Map.Entry<Integer, Integer> e : heldById().entrySet())
+            {
+                final String name = nameOf(e.getKey());
+                if (name != null)
+                {
+                    heldByName.merge(name, e.getValue(), Integer::sum);
+                }
+            }
+        }
+        return heldByName;
+    }
+
+    private String nameOf(int itemId)
+    {
+        try
+        {
+            return normalizeItemName(itemManager.getItemComposition(itemId).getName());
+        }
+        catch (Exception ignored)
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Normalize item names so that degraded variants (e.g., "Torag's platelegs 100/75/50/25/0")
+     * all map to the same base string (e.g., "Torag's platelegs").
+     */
+    static String normalizeItemName(final String raw)
+    {
+        if (raw == null)
+        {
+            return "";
+        }
+        // Strip trailing space+digits (e.g., " 100") and collapse double spaces
+        String s = raw.replaceAll("\\s[0-9]{1,3}$", "").trim();
+        s = s.replaceAll("\\s+", " ");
+        return s;
+    }
+}
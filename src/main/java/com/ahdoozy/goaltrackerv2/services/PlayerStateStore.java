@@ -0,0 +1,208 @@
+package com.ahdoozy.goaltrackerv2.services;
+
+import com.ahdoozy.goaltrackerv2.GoalManager;
+import com.ahdoozy.goaltrackerv2.ProfileStore;
+import com.ahdoozy.goaltrackerv2.models.Goal;
+import com.ahdoozy.goaltrackerv2.models.enums.TaskType;
+import com.ahdoozy.goaltrackerv2.models.task.ItemTask;
+import com.ahdoozy.goaltrackerv2.models.task.QuestTask;
+import com.ahdoozy.goaltrackerv2.models.task.Task;
+import com.google.gson.Gson;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.Quest;
+import net.runelite.api.QuestState;
+import net.runelite.api.Skill;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Persists a compact per-profile copy of the player's state so tasks can be evaluated
+ * before login. Stores skill XP, quest started/finished bits and equivalent item totals
+ * for the quests and items that goals track.
+ */
+@Slf4j
+@Singleton
+public final class PlayerStateStore
+{
+    @Inject private Client client;
+    @Inject private Gson gson;
+    @Inject private GoalManager goalManager;
+    @Inject private ProfileStore profileStore;
+    @Inject private TaskUpdateService taskUpdateService;
+
+    // Set when tracked state may have changed since the last save; client thread only
+    private boolean dirty;
+
+    public void markDirty()
+    {
+        dirty = true;
+    }
+
+    public void saveIfDirty()
+    {
+        if (dirty)
+        {
+            save();
+        }
+    }
+
+    /**
+     * Capture the logged-in player's tracked state and persist it in the active profile.
+     * Must be called on the client thread.
+     */
+    public void save()
+    {
+        // Until the EDT has switched to the logged-in profile, this state belongs to another one
+        if (client.getGameState() != GameState.LOGGED_IN || !profileStore.isCurrent())
+        {
+            return;
+        }
+        dirty = false;
+
+        final Set<Quest> quests = new LinkedHashSet<>();
+        final Map<Integer, String> items = new HashMap<>();
+        for (Goal goal : goalManager.getGoals())
+        {
+            // Only incomplete tasks are evaluated offline; skipping other goals avoids loading their tasks
+            if (!goal.hasIncomplete(TaskType.QUEST) && !goal.hasIncomplete(TaskType.ITEM))
+            {
+                continue;
+            }
+            for (Task task : goal.getTasks())
+            {
+                if (task instanceof QuestTask && ((QuestTask) task).getQuest() != null)
+                {
+                    quests.add(((QuestTask) task).getQuest());
+                }
+                else if (task instanceof ItemTask && ((ItemTask) task).getItemId() > 0)
+                {
+                    items.put(((ItemTask) task).getItemId(), ((ItemTask) task).getItemName());
+                }
+            }
+        }
+
+        final Snapshot snapshot = Snapshot.capture(taskUpdateService.currentState(), quests, items);
+        profileStore.set(ProfileStore.PLAYER_STATE_KEY, gson.toJson(snapshot));
+    }
+
+    /**
+     * The persisted state of the active profile, or null if there is none.
+     */
+    public PlayerState loadActive()
+    {
+        try
+        {
+            final String json = profileStore.get(ProfileStore.PLAYER_STATE_KEY);
+            if (json.isEmpty())
+            {
+                return null;
+            }
+            final Snapshot snapshot = gson.fromJson(json, Snapshot.class);
+            return snapshot == null ? null : snapshot.toPlayerState();
+        }
+        catch (Exception ex)
+        {
+            log.warn("Failed to load persisted player state", ex);
+            return null;
+        }
+    }
+
+    /**
+     * Serialized form. Skills are keyed by name and quests by quest id so that
+     * entries stay valid when RuneLite adds skills or quests.
+     */
+    static final class Snapshot
+    {
+        Map<String, Integer> xp = new HashMap<>();
+        long[] questsKnown = new long[0];
+        long[] questsStarted = new long[0];
+        long[] questsFinished = new long[0];
+        Map<Integer, Integer> items = new HashMap<>();
+
+        static Snapshot capture(PlayerState state, Collection<Quest> quests, Map<Integer, String> items)
+        {
+            final Snapshot snapshot = new Snapshot();
+            for (Skill skill : Skill.values())
+            {
+                final int xp = state.getXp(skill);
+                if (xp >= 0)
+                {
+                    snapshot.xp.put(skill.name(), xp);
+                }
+            }
+
+            final BitSet known = new BitSet();
+            final BitSet started = new BitSet();
+            final BitSet finished = new BitSet();
+            for (Quest quest : quests)
+            {
+                final QuestState questState = state.getQuestState(quest);
+                if (questState == null)
+                {
+                    continue;
+                }
+                known.set(quest.getId());
+                started.set(quest.getId(), questState == QuestState.IN_PROGRESS);
+                finished.set(quest.getId(), questState == QuestState.FINISHED);
+            }
+            snapshot.questsKnown = known.toLongArray();
+            snapshot.questsStarted = started.toLongArray();
+            snapshot.questsFinished = finished.toLongArray();
+
+            for (Map.Entry<Integer, String> item : items.entrySet())
+            {
+                final int count = state.countHeld(item.getKey(), item.getValue());
+                if (count >= 0)
+                {
+                    snapshot.items.put(item.getKey(), count);
+                }
+            }
+            return snapshot;
+        }
+
+        PlayerState toPlayerState()
+        {
+            final Map<Skill, Integer> skills = new EnumMap<>(Skill.class);
+            if (xp != null)
+            {
+                for (Map.Entry<String, Integer> e : xp.entrySet())
+                {
+                    try
+                    {
+                        skills.put(Skill.valueOf(e.getKey()), e.getValue());
+                    }
+                    catch (IllegalArgumentException ignored)
+                    {
+                        // skill no longer exists
+                    }
+                }
+            }
+
+            final BitSet known = BitSet.valueOf(questsKnown == null ? new long[0] : questsKnown);
+            final BitSet started = BitSet.valueOf(questsStarted == null ? new long[0] : questsStarted);
+            final BitSet finished = BitSet.valueOf(questsFinished == null ? new long[0] : questsFinished);
+            final Map<Quest, QuestState> quests = new EnumMap<>(Quest.class);
+            for (Quest quest : Quest.values())
+            {
+                final int id = quest.getId();
+                if (id >= 0 && known.get(id))
+                {
+                    quests.put(quest, finished.get(id) ? QuestState.FINISHED
+                        : started.get(id) ? QuestState.IN_PROGRESS : QuestState.NOT_STARTED);
+                }
+            }
+
+            return PlayerState.restored(skills, quests, items == null ? new HashMap<>() : items);
+        }
+    }
+}
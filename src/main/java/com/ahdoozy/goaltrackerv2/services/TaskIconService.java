@@ -1,25 +1,36 @@
 package com.ahdoozy.goaltrackerv2.services;
 
 import com.ahdoozy.goaltrackerv2.GoalTrackerV2Plugin;
+import com.ahdoozy.goaltrackerv2.TaskUIStatusManager;
 import com.ahdoozy.goaltrackerv2.models.task.*;
-import net.runelite.api.Client;
-import net.runelite.client.game.ItemManager;
+import net.runelite.api.Skill;
 import net.runelite.client.game.SkillIconManager;
+import net.runelite.client.util.AsyncBufferedImage;
 import net.runelite.client.util.ImageUtil;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import javax.swing.*;
-import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Resolves small 16x16 icons for tasks (items, skills, quests, manual checks).
+ * Item and skill icons are scaled once into shared atlas pages (see {@link IconAtlas}) and kept
+ * in a bounded LRU cache; quest and manual icons are fixed per status and need no cache.
  */
 @Singleton
 public final class TaskIconService
 {
-    private static final int ICON_SIZE = 16;
+    // One atlas page: a full cache evicts before placing, so it keeps reusing that page's tiles
+    static final int MAX_CACHED_ICONS = IconAtlas.TILES_PER_PAGE;
+
+    // Cache keys: item id, or skill ordinal offset past every item id
+    private static final long SKILL_KEY = 1L << 32;
 
     public static final ImageIcon CROSS_MARK_ICON;
     public static final ImageIcon CHECK_MARK_ICON;
@@ -46,11 +57,22 @@ public final class TaskIconService
         );
     }
 
-    @Inject private ItemManager itemManager;
+    @Inject private ItemIconRegistry itemIconRegistry;
+    @Inject private IconDiskCache iconDiskCache;
     @Inject private SkillIconManager skillIconManager;
-    @Inject private Client client;
+    @Inject private TaskUIStatusManager uiStatusManager;
+
+    // Access-ordered, so the eldest entry is the least recently used; guarded by this
+    private final Map<Long, Icon> icons = new LinkedHashMap<>(64, 0.75f, true);
+    // Item icons waiting for their image to finish loading
+    private final Set<Long> pending = new HashSet<>();
+    private int maxIcons = MAX_CACHED_ICONS;
+    private final IconAtlas atlas = new IconAtlas();
+    private long hits;
+    private long misses;
+    private long evictions;
 
-    public ImageIcon get(Task task)
+    public Icon get(Task task)
     {
         if (task instanceof ManualTask)
         {
@@ -61,26 +83,21 @@ public final class TaskIconService
             return get((QuestTask) task);
         }
 
-        BufferedImage image = null;
+        Icon icon = null;
         if (task instanceof SkillLevelTask)
         {
-            image = get((SkillLevelTask) task);
+            icon = skillIcon(((SkillLevelTask) task).getSkill());
         }
         else if (task instanceof SkillXpTask)
         {
-            image = get((SkillXpTask) task);
+            icon = skillIcon(((SkillXpTask) task).getSkill());
         }
         else if (task instanceof ItemTask)
         {
-            image = get((ItemTask) task);
-        }
-
-        if (image != null)
-        {
-            return iconify(image);
+            icon = itemIcon((ItemTask) task);
         }
 
-        return UNKNOWN_ICON;
+        return icon != null ? icon : UNKNOWN_ICON;
     }
 
     public ImageIcon get(ManualTask task)
@@ -105,16 +122,150 @@ public final class TaskIconService
 
     public BufferedImage get(ItemTask task)
     {
-        if (task.getCachedIcon() == null && client.isClientThread())
+        return itemIconRegistry.get(task.getItemId());
+    }
+
+    public synchronized long getHits()
+    {
+        return hits;
+    }
+
+    public synchronized long getMisses()
+    {
+        return misses;
+    }
+
+    public synchronized long getEvictions()
+    {
+        return evictions;
+    }
+
+    public synchronized int getCachedCount()
+    {
+        return icons.size();
+    }
+
+    /** How many icons the cache holds before evicting. */
+    public synchronized int getCapacity()
+    {
+        return maxIcons;
+    }
+
+    synchronized void setMaxIcons(int maxIcons)
+    {
+        this.maxIcons = maxIcons;
+    }
+
+    IconAtlas getAtlas()
+    {
+        return atlas;
+    }
+
+    private Icon skillIcon(Skill skill)
+    {
+        if (skill == null)
         {
-            task.setCachedIcon(itemManager.getImage(task.getItemId()));
+            return null;
         }
-        return task.getCachedIcon();
+        final long key = SKILL_KEY + skill.ordinal();
+        final Icon cached = lookup(key);
+        if (cached != null)
+        {
+            return cached;
+        }
+        final BufferedImage image = skillIconManager.getSkillImage(skill);
+        return image == null ? null : store(key, image);
     }
 
-    private ImageIcon iconify(BufferedImage img)
+    /**
+     * Request an item's image and cache its scaled icon before any row shows it, so the row
+     * paints with its icon the first time. Must be called on the client thread.
+     */
+    public void prefetch(int itemId)
     {
-        Image scaled = img.getScaledInstance(ICON_SIZE, ICON_SIZE, Image.SCALE_SMOOTH);
-        return new ImageIcon(scaled);
+        if (peek(itemId) == null)
+        {
+            loadItemIcon(itemId);
+        }
+    }
+
+    /** True once an item's icon is scaled and cached. */
+    public boolean isCached(int itemId)
+    {
+        return peek(itemId) != null;
+    }
+
+    private Icon itemIcon(ItemTask task)
+    {
+        final Icon cached = lookup(task.getItemId());
+        return cached != null ? cached : loadItemIcon(task.getItemId());
+    }
+
+    private Icon loadItemIcon(int itemId)
+    {
+        // Icons saved by an earlier session paint at once, without waiting for ItemManager
+        final BufferedImage stored = iconDiskCache.get(itemId);
+        if (stored != null)
+        {
+            return store(itemId, stored);
+        }
+        final AsyncBufferedImage image = itemIconRegistry.get(itemId);
+        if (image == null)
+        {
+            return null;
+        }
+        // Scaling before the image has loaded would cache a blank icon; runs at once if already loaded
+        synchronized (this)
+        {
+            if (!pending.add((long) itemId))
+            {
+                return null;
+            }
+        }
+        image.onLoaded(() -> {
+            final Icon icon = store(itemId, image);
+            iconDiskCache.put(itemId, atlas.copy(icon));
+            uiStatusManager.refreshItem(itemId);
+        });
+        return peek(itemId);
+    }
+
+    private synchronized Icon lookup(long key)
+    {
+        final Icon icon = icons.get(key);
+        if (icon != null)
+        {
+            hits++;
+        }
+        else
+        {
+            misses++;
+        }
+        return icon;
+    }
+
+    private synchronized Icon peek(long key)
+    {
+        return icons.get(key);
+    }
+
+    private synchronized Icon store(long key, BufferedImage image)
+    {
+        pending.remove(key);
+        // Evict before placing, so a full cache reuses the freed tile instead of overflowing its page
+        if (!icons.containsKey(key) && icons.size() >= maxIcons)
+        {
+            final Iterator<Icon> eldest = icons.values().iterator();
+            atlas.release(eldest.next());
+            eldest.remove();
+            evictions++;
+        }
+        final Icon icon = atlas.add(image);
+        final Icon previous = icons.put(key, icon);
+        if (previous != null)
+        {
+            atlas.release(previous);
+        }
+        return icon;
     }
 }
@@ -7,10 +7,15 @@ import com.ahdoozy.goaltrackerv2.models.task.*;
 import com.ahdoozy.goaltrackerv2.models.task.*;
 import net.runelite.api.Client;
 import net.runelite.api.GameState;
+import net.runelite.api.QuestState;
 import net.runelite.api.events.StatChanged;
+import net.runelite.client.game.ItemManager;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Updates task status based on current client state and events.
@@ -18,8 +23,50 @@ import javax.inject.Singleton;
 @Singleton
 public final class TaskUpdateService
 {
+    // Outcomes of evaluating one task against a snapshot
+    private static final int UNKNOWN = -1;
+    private static final int UNCHANGED = 0;
+    private static final int CHANGED = 1;
+
     @Inject private Client client;
     @Inject private ItemCache itemCache;
+    @Inject private ItemManager itemManager;
+
+    // Snapshot shared by every evaluation within one game tick; client thread only
+    private PlayerState tickState;
+    private int tickStateTick = -1;
+
+    /**
+     * Start a new snapshot of the player's state. Values are read lazily on first use.
+     * Must be used on the client thread.
+     */
+    public PlayerState snapshot()
+    {
+        return new PlayerState(client, itemManager);
+    }
+
+    /**
+     * The snapshot for the current game tick, created on first use in that tick.
+     * Tasks evaluated within the same tick share skill and quest reads.
+     */
+    public PlayerState currentState()
+    {
+        final int tick = client.getTickCount();
+        if (tickState == null || tickStateTick != tick)
+        {
+            tickState = snapshot();
+            tickStateTick = tick;
+        }
+        return tickState;
+    }
+
+    /**
+     * Drop the current tick's snapshot, e.g. after a stat or varbit change within the tick.
+     */
+    public void invalidateState()
+    {
+        tickState = null;
+    }
 
     /**
      * Dispatch update for a generic task, returning true if status/values changed.
@@ -36,6 +83,158 @@ public final class TaskUpdateService
         }
     }
 
+    /**
+     * Dispatch update for a generic task against a player state snapshot,
+     * returning true if status/values changed.
+     */
+    public boolean update(Task task, PlayerState state)
+    {
+        return evaluate(task, state) == CHANGED;
+    }
+
+    /**
+     * Evaluate a group of tasks that share one {@link TaskKey} against the live client: the first
+     * task is evaluated and its result copied to the rest. Returns the tasks that changed.
+     */
+    public <T extends Task> List<T> update(List<T> group)
+    {
+        if (client.getGameState() != GameState.LOGGED_IN || !client.isClientThread())
+        {
+            return Collections.emptyList();
+        }
+        return update(group, currentState());
+    }
+
+    /**
+     * Evaluate a group of tasks that share one {@link TaskKey} against a snapshot: the first
+     * task is evaluated and its result copied to the rest. Returns the tasks that changed;
+     * nothing changes when the snapshot does not know the value.
+     */
+    public <T extends Task> List<T> update(List<T> group, PlayerState state)
+    {
+        final T first = group.get(0);
+        final int result = evaluate(first, state);
+        if (result == UNKNOWN)
+        {
+            return Collections.emptyList();
+        }
+        final List<T> changed = new ArrayList<>(1);
+        if (result == CHANGED)
+        {
+            changed.add(first);
+        }
+        changed.addAll(fanOut(first, group));
+        return changed;
+    }
+
+    /**
+     * Copy an evaluated task's status (and item progress) to the other tasks in its group.
+     * Returns the tasks that changed.
+     */
+    public <T extends Task> List<T> fanOut(T source, List<T> group)
+    {
+        List<T> changed = Collections.emptyList();
+        for (T task : group)
+        {
+            if (task == source)
+            {
+                continue;
+            }
+            boolean dirty = task.getStatus() != source.getStatus();
+            task.setStatus(source.getStatus());
+            if (task instanceof ItemTask)
+            {
+                final ItemTask item = (ItemTask) task;
+                final int acquired = ((ItemTask) source).getAcquired();
+                dirty |= item.getAcquired() != acquired;
+                item.setAcquired(acquired);
+            }
+            if (dirty)
+            {
+                if (changed.isEmpty())
+                {
+                    changed = new ArrayList<>();
+                }
+                changed.add(task);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * The value a task is evaluated against in a snapshot: a level, XP, quest state ordinal
+     * or held count, or -1 if the snapshot does not know it. Reads only what the task targets
+     * and never changes it, so it may run away from the thread that owns the task.
+     */
+    public int read(Task task, PlayerState state)
+    {
+        switch (task.getType())
+        {
+            case SKILL_LEVEL:
+            {
+                final SkillLevelTask t = (SkillLevelTask) task;
+                return t.getSkill() == null ? -1 : state.getLevel(t.getSkill());
+            }
+            case SKILL_XP:
+            {
+                final SkillXpTask t = (SkillXpTask) task;
+                return t.getSkill() == null ? -1 : state.getXp(t.getSkill());
+            }
+            case QUEST:
+            {
+                final QuestTask t = (QuestTask) task;
+                final QuestState questState = t.getQuest() == null ? null : state.getQuestState(t.getQuest());
+                return questState == null ? -1 : questState.ordinal();
+            }
+            case ITEM:
+            {
+                final ItemTask t = (ItemTask) task;
+                return t.getItemId() > 0 ? state.countHeld(t.getItemId(), t.getItemName()) : -1;
+            }
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * Apply a value from {@link #read} to a group of tasks that share one {@link TaskKey}:
+     * the first task is updated and its result copied to the rest. Returns the tasks that changed.
+     */
+    public <T extends Task> List<T> apply(List<T> group, int value)
+    {
+        final T first = group.get(0);
+        final List<T> changed = new ArrayList<>(1);
+        if (apply(first, value))
+        {
+            changed.add(first);
+        }
+        changed.addAll(fanOut(first, group));
+        return changed;
+    }
+
+    private int evaluate(Task task, PlayerState state)
+    {
+        final int value = read(task, state);
+        return value < 0 ? UNKNOWN : result(apply(task, value));
+    }
+
+    private boolean apply(Task task, int value)
+    {
+        switch (task.getType())
+        {
+            case SKILL_LEVEL: return update((SkillLevelTask) task, value);
+            case SKILL_XP:    return update((SkillXpTask) task, value);
+            case QUEST:       return update((QuestTask) task, QuestState.values()[value]);
+            case ITEM:        return ((ItemTask) task).recomputeFromCount(value);
+            default:          return false;
+        }
+    }
+
+    private static int result(boolean changed)
+    {
+        return changed ? CHANGED : UNCHANGED;
+    }
+
     // -------------------- Skill Level --------------------
 
     /** Returns true if an update has occurred. */
@@ -45,7 +244,7 @@ public final class TaskUpdateService
         {
             return false;
         }
-        return update(task, client.getRealSkillLevel(task.getSkill()));
+        return update(task, currentState().getLevel(task.getSkill()));
     }
 
     /** Returns true if an update has occurred (event-driven). */
@@ -75,7 +274,7 @@ public final class TaskUpdateService
         {
             return false;
         }
-        return update(task, client.getSkillExperience(task.getSkill()));
+        return update(task, currentState().getXp(task.getSkill()));
     }
 
     /** Returns true if an update has occurred (event-driven). */
@@ -105,8 +304,14 @@ public final class TaskUpdateService
         {
             return false;
         }
+        return update(task, currentState().getQuestState(task.getQuest()));
+    }
+
+    /** Returns true if an update has occurred given a specific quest state. */
+    public boolean update(QuestTask task, QuestState state)
+    {
         final Status oldStatus = task.getStatus();
-        task.setStatus(Status.fromQuestState(task.getQuest().getState(client)));
+        task.setStatus(Status.fromQuestState(state));
         return oldStatus != task.getStatus();
     }
 
@@ -0,0 +1,145 @@
+package com.ahdoozy.goaltrackerv2.services;
+
+import com.ahdoozy.goaltrackerv2.GoalManager;
+import com.ahdoozy.goaltrackerv2.models.enums.TaskType;
+import com.ahdoozy.goaltrackerv2.models.task.QuestTask;
+import com.ahdoozy.goaltrackerv2.models.task.Task;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.Quest;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.swing.SwingUtilities;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
+
+/**
+ * Full validation of every incomplete task against one snapshot of the player's state.
+ * Skills, the quests referenced by tasks and all held items are captured once when the
+ * sweep starts; tasks are then evaluated in budgeted client-thread chunks. Before login,
+ * a persisted snapshot is read off-thread instead and the results applied on the EDT.
+ * Tasks repeated across goals are evaluated once per
+ * {@link com.ahdoozy.goaltrackerv2.models.task.TaskKey}.
+ */
+@Slf4j
+@Singleton
+public final class TaskValidationService
+{
+    // Task types that can be evaluated from client state
+    private static final TaskType[] VALIDATED_TYPES = {
+        TaskType.SKILL_LEVEL,
+        TaskType.SKILL_XP,
+        TaskType.QUEST,
+        TaskType.ITEM
+    };
+
+    @Inject private Client client;
+    @Inject private GoalManager goalManager;
+    @Inject private TaskUpdateService taskUpdateService;
+    @Inject private ClientThreadBudget clientThreadBudget;
+    @Inject private ScheduledExecutorService executor;
+
+    /**
+     * Validate all incomplete tasks. {@code onComplete} runs once on the client thread
+     * with the tasks whose status or progress changed, so callers can refresh and save once.
+     */
+    public void validateAll(Consumer<List<Task>> onComplete)
+    {
+        final List<Task> changed = new ArrayList<>();
+        final PlayerState state = taskUpdateService.snapshot();
+
+        clientThreadBudget.<List<Task>>submit("full validation",
+            () -> {
+                if (client.getGameState() != GameState.LOGGED_IN)
+                {
+                    return Collections.<List<Task>>emptyList();
+                }
+                final List<List<Task>> groups = collectIncompleteTaskGroups();
+                state.captureAll(questsOf(groups));
+                return groups;
+            },
+            group -> changed.addAll(taskUpdateService.update(group, state)),
+            () -> {
+                log.debug("Full validation changed {} task(s)", changed.size());
+                onComplete.accept(changed);
+            });
+    }
+
+    /**
+     * Validate all incomplete tasks against a restored snapshot. Call on the EDT, which owns
+     * the goal lists. Once the background warm-up has loaded the goals' tasks they are grouped
+     * on the EDT, the snapshot is read on a background thread, and the results are applied
+     * back on the EDT. Nothing is applied once the player has logged in, as the live sweep
+     * takes over from there. {@code onComplete} runs on the EDT with the tasks that changed.
+     */
+    public void validateOffline(PlayerState state, Consumer<List<Task>> onComplete)
+    {
+        // Grouping reads every goal with incomplete tasks; waiting keeps startup to the headers
+        goalManager.afterWarmUp(() -> {
+            final List<List<Task>> groups = collectIncompleteTaskGroups();
+            executor.execute(() -> {
+                final int[] values = new int[groups.size()];
+                try
+                {
+                    for (int i = 0; i < values.length; i++)
+                    {
+                        values[i] = taskUpdateService.read(groups.get(i).get(0), state);
+                    }
+                }
+                catch (Exception ex)
+                {
+                    log.warn("Offline validation failed", ex);
+                    Arrays.fill(values, -1);
+                }
+
+                SwingUtilities.invokeLater(() -> {
+                    final List<Task> changed = new ArrayList<>();
+                    if (client.getGameState() != GameState.LOGGED_IN)
+                    {
+                        for (int i = 0; i < values.length; i++)
+                        {
+                            if (values[i] >= 0)
+                            {
+                                changed.addAll(taskUpdateService.apply(groups.get(i), values[i]));
+                            }
+                        }
+                    }
+                    log.debug("Offline validation changed {} task(s)", changed.size());
+                    onComplete.accept(changed);
+                });
+            });
+        });
+    }
+
+    private List<List<Task>> collectIncompleteTaskGroups()
+    {
+        final List<List<Task>> groups = new ArrayList<>();
+        for (TaskType type : VALIDATED_TYPES)
+        {
+            groups.addAll(goalManager.<Task>getIncompleteTaskGroupsByType(type));
+        }
+        return groups;
+    }
+
+    private static Set<Quest> questsOf(List<List<Task>> groups)
+    {
+        final Set<Quest> quests = EnumSet.noneOf(Quest.class);
+        for (List<Task> group : groups)
+        {
+            final Task task = group.get(0);
+            if (task instanceof QuestTask && ((QuestTask) task).getQuest() != null)
+            {
+                quests.add(((QuestTask) task).getQuest());
+            }
+        }
+        return quests;
+    }
+}
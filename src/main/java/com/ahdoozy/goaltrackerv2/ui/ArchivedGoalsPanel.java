@@ -0,0 +1,102 @@
+package com.ahdoozy.goaltrackerv2.ui;
+
+import com.ahdoozy.goaltrackerv2.GoalManager;
+import com.ahdoozy.goaltrackerv2.models.Goal;
+import com.ahdoozy.goaltrackerv2.ui.components.ActionBarButton;
+import net.runelite.client.ui.ColorScheme;
+import net.runelite.client.ui.FontManager;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import java.awt.*;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Read-only list of archived (completed) goals, decoded from the archive when opened.
+ * Each row can be restored back into the live goal list.
+ */
+public final class ArchivedGoalsPanel extends JPanel
+{
+    private final GoalManager goalManager;
+    private final List<Goal> archived;
+    private final Consumer<Goal> restoredListener;
+    private final JPanel rows = new JPanel();
+
+    ArchivedGoalsPanel(GoalManager goalManager, Runnable closeListener, Consumer<Goal> restoredListener)
+    {
+        super(new BorderLayout());
+        this.goalManager = goalManager;
+        this.archived = goalManager.getArchivedGoals();
+        this.restoredListener = restoredListener;
+
+        setBackground(ColorScheme.DARK_GRAY_COLOR);
+
+        JPanel header = new JPanel(new BorderLayout());
+        header.setBackground(ColorScheme.DARK_GRAY_COLOR);
+        header.setBorder(new EmptyBorder(0, 0, 8, 0));
+
+        JPanel backRow = new JPanel(new FlowLayout(FlowLayout.LEFT, 0, 0));
+        backRow.setBackground(ColorScheme.DARK_GRAY_COLOR);
+        backRow.add(new ActionBarButton("Back", closeListener));
+        header.add(backRow, BorderLayout.NORTH);
+
+        JLabel title = new JLabel("Archived goals");
+        title.setForeground(Color.WHITE);
+        title.setFont(FontManager.getRunescapeBoldFont());
+        title.setBorder(new EmptyBorder(6, 4, 0, 4));
+        header.add(title, BorderLayout.CENTER);
+        add(header, BorderLayout.NORTH);
+
+        rows.setLayout(new BoxLayout(rows, BoxLayout.Y_AXIS));
+        rows.setBackground(ColorScheme.DARK_GRAY_COLOR);
+        JPanel rowsWrapper = new JPanel(new BorderLayout());
+        rowsWrapper.setBackground(ColorScheme.DARK_GRAY_COLOR);
+        rowsWrapper.add(rows, BorderLayout.NORTH);
+        add(rowsWrapper, BorderLayout.CENTER);
+
+        buildRows();
+    }
+
+    private void buildRows()
+    {
+        rows.removeAll();
+        if (archived.isEmpty())
+        {
+            JLabel placeholder = new JLabel("<html><div style='text-align:center;color:#bfbfbf;padding:8px 0;'>No archived goals.<br/>Completed goals are archived the next time the plugin loads.</div></html>");
+            placeholder.setAlignmentX(Component.LEFT_ALIGNMENT);
+            rows.add(placeholder);
+        }
+        for (Goal goal : archived)
+        {
+            rows.add(createRow(goal));
+        }
+        rows.revalidate();
+        rows.repaint();
+    }
+
+    private JPanel createRow(Goal goal)
+    {
+        JPanel row = new JPanel(new BorderLayout());
+        row.setBackground(ColorScheme.DARKER_GRAY_COLOR);
+        row.setBorder(BorderFactory.createCompoundBorder(
+            BorderFactory.createMatteBorder(0, 0, 4, 0, ColorScheme.DARK_GRAY_COLOR),
+            new EmptyBorder(6, 8, 6, 4)
+        ));
+        row.setAlignmentX(Component.LEFT_ALIGNMENT);
+
+        String description = goal.getDescription() == null ? "" : goal.getDescription();
+        JLabel label = new JLabel(description);
+        label.setForeground(Color.WHITE);
+        label.setToolTipText(description + " (" + goal.getTasks().size() + " tasks)");
+        row.add(label, BorderLayout.CENTER);
+
+        row.add(new ActionBarButton("Restore", () -> {
+            goalManager.restoreGoal(archived, goal);
+            buildRows();
+            if (restoredListener != null) restoredListener.accept(goal);
+        }), BorderLayout.EAST);
+        row.setMaximumSize(new Dimension(Integer.MAX_VALUE, row.getPreferredSize().height));
+        return row;
+    }
+}
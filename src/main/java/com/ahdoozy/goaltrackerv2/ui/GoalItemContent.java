@@ -6,18 +6,15 @@ import com.ahdoozy.goaltrackerv2.models.Goal;
 
 import javax.swing.*;
 import javax.swing.JMenuItem;
-import javax.swing.event.PopupMenuListener;
-import javax.swing.event.PopupMenuEvent;
 import java.awt.*;
 
-import com.ahdoozy.goaltrackerv2.ui.components.ListItemPanel;
-import java.awt.event.MouseAdapter;
-import java.awt.event.MouseEvent;
-import javax.swing.SwingUtilities;
+import com.ahdoozy.goaltrackerv2.ui.components.RowContent;
 
 import java.awt.event.ComponentAdapter;
 import java.awt.event.ComponentEvent;
 
+import com.ahdoozy.goaltrackerv2.utils.Ellipsis;
+
 import static com.ahdoozy.goaltrackerv2.utils.Constants.STATUS_TO_COLOR;
 
 /**
@@ -25,7 +22,7 @@ import static com.ahdoozy.goaltrackerv2.utils.Constants.STATUS_TO_COLOR;
  * Shows the title (editable), progress count, and a slim progress bar.
  * Also supports pinning, context menus, and refresh on goal status change.
  */
-public final class GoalItemContent extends JPanel implements Refreshable
+public final class GoalItemContent extends JPanel implements Refreshable, RowContent
 {
     private final JLabel titleLabel = new JLabel();
     private final JTextField titleEdit = new JTextField();
@@ -33,6 +30,7 @@ public final class GoalItemContent extends JPanel implements Refreshable
     private final SlimBar progressBar = new SlimBar();
     private final JPanel titleStack = new JPanel(new CardLayout());
 
+    private final GoalTrackerV2Plugin plugin;
     private final Goal goal;
 
     private JPanel topRow;
@@ -43,6 +41,7 @@ public final class GoalItemContent extends JPanel implements Refreshable
     GoalItemContent(GoalTrackerV2Plugin plugin, Goal goal)
     {
         super(new BorderLayout());
+        this.plugin = plugin;
         this.goal = goal;
 
         setBorder(BorderFactory.createEmptyBorder(6, 8, 6, 8)); // padding for centered text
@@ -57,7 +56,6 @@ public final class GoalItemContent extends JPanel implements Refreshable
         titleLabel.setBorder(null);
         titleLabel.setOpaque(false);
         titleLabel.setFocusable(false);
-        titleLabel.setToolTipText(null);
 
         // Title edit (edit mode)
         titleEdit.setBorder(null);
@@ -69,10 +67,6 @@ public final class GoalItemContent extends JPanel implements Refreshable
         titleStack.add(titleEdit, "edit");
         topRow.add(titleStack, BorderLayout.CENTER);
 
-        // Swap to edit on label click
-        titleLabel.addMouseListener(new MouseAdapter() {
-            @Override public void mouseClicked(MouseEvent e) { enterEdit(); }
-        });
         // Commit edits on Enter and when focus is lost
         titleEdit.addActionListener(e -> exitEdit(true));
         titleEdit.addFocusListener(new java.awt.event.FocusAdapter() {
@@ -99,7 +93,7 @@ public final class GoalItemContent extends JPanel implements Refreshable
             Color color = STATUS_TO_COLOR.get(goal.getStatus());
             updateTitleLabel();
             titleEdit.setCaretColor(color);
-            progress.setText(goal.getComplete().size() + "/" + goal.getTasks().size());
+            progress.setText(goal.getCompletedCount() + "/" + goal.getTaskCount());
             progress.setForeground(color);
         }
 
@@ -108,92 +102,47 @@ public final class GoalItemContent extends JPanel implements Refreshable
         });
 
         plugin.getUiStatusManager().addRefresher(goal, this::refresh);
+    }
 
-        // Ensure right-click on any child shows the parent ListItemPanel context menu
-        MouseAdapter forwardPopup = new MouseAdapter()
+    /**
+     * Swap to edit on title click.
+     */
+    @Override
+    public void rowClicked(Component target)
+    {
+        if (target == titleLabel)
         {
-            private void maybeShow(MouseEvent e)
-            {
-                if (!(e.isPopupTrigger() || SwingUtilities.isRightMouseButton(e)))
-                {
-                    return;
-                }
-                Component src = (Component) e.getSource();
-                JComponent listItem = (JComponent) SwingUtilities.getAncestorOfClass(ListItemPanel.class, src);
-                if (listItem == null)
-                {
-                    listItem = (JComponent) SwingUtilities.getAncestorOfClass(ListItemPanel.class, GoalItemContent.this);
-                }
-                if (listItem != null && listItem.getComponentPopupMenu() != null)
-                {
-                    Point p = SwingUtilities.convertPoint(src, e.getPoint(), listItem);
-                    JPopupMenu menu = listItem.getComponentPopupMenu();
-
-                    // --- Pin / Unpin (temporary additions) ---
-                    JSeparator sep = new JSeparator();
-                    ((JComponent) sep).putClientProperty("pinToggle", Boolean.TRUE);
-                    menu.add(sep);
-
-                    JMenuItem pinToggle = new JMenuItem(goal.isPinned() ? "Unpin" : "Pin");
-                    ((JComponent) pinToggle).putClientProperty("pinToggle", Boolean.TRUE);
-                    pinToggle.addActionListener(ev -> {
-                        goal.setPinned(!goal.isPinned());
-                        try {
-                            plugin.getGoalManager().save();
-                        } catch (Throwable t) {
-                            plugin.getUiStatusManager().refresh(goal);
-                        }
-                        GoalItemContent.this.revalidate();
-                        GoalItemContent.this.repaint();
-                    });
-                    menu.add(pinToggle);
-
-                    PopupMenuListener cleanup = new PopupMenuListener() {
-                        @Override public void popupMenuWillBecomeVisible(PopupMenuEvent e) { }
-                        @Override public void popupMenuCanceled(PopupMenuEvent e) { cleanup(menu, this); }
-                        @Override public void popupMenuWillBecomeInvisible(PopupMenuEvent e) { cleanup(menu, this); }
-                        private void cleanup(JPopupMenu m, PopupMenuListener self) {
-                            // Remove only the components we added this time
-                            java.util.List<Component> toRemove = new java.util.ArrayList<>();
-                            for (Component c : m.getComponents()) {
-                                if (c instanceof JComponent) {
-                                    Object flag = ((JComponent) c).getClientProperty("pinToggle");
-                                    if (Boolean.TRUE.equals(flag)) {
-                                        toRemove.add(c);
-                                    }
-                                }
-                            }
-                            for (Component c : toRemove) {
-                                m.remove(c);
-                            }
-                            m.removePopupMenuListener(self);
-                        }
-                    };
-                    menu.addPopupMenuListener(cleanup);
-
-                    menu.show(listItem, p.x, p.y);
-                }
-            }
+            enterEdit();
+        }
+    }
 
-            @Override public void mousePressed(MouseEvent e) { maybeShow(e); }
-            @Override public void mouseReleased(MouseEvent e) { maybeShow(e); }
-        };
-
-        this.addMouseListener(forwardPopup);
-        titleLabel.addMouseListener(forwardPopup);
-        titleEdit.addMouseListener(forwardPopup);
-        progress.addMouseListener(forwardPopup);
-        progressBar.addMouseListener(forwardPopup);
-        // Ensure item icon/text initialize on first render (e.g., on login)
-        SwingUtilities.invokeLater(this::refresh);
+    /**
+     * Adds a Pin / Unpin item.
+     */
+    @Override
+    public void contextMenuOpening(JPopupMenu menu)
+    {
+        menu.addSeparator();
+        JMenuItem pinToggle = new JMenuItem(goal.isPinned() ? "Unpin" : "Pin");
+        pinToggle.addActionListener(ev -> {
+            goal.setPinned(!goal.isPinned());
+            try {
+                plugin.getGoalManager().save();
+            } catch (Throwable t) {
+                plugin.getUiStatusManager().refresh(goal);
+            }
+            revalidate();
+            repaint();
+        });
+        menu.add(pinToggle);
     }
 
     @Override
     public void addNotify()
     {
         super.addNotify();
-        // In case construction happened before UI was realized, refresh when shown
-        SwingUtilities.invokeLater(this::refresh);
+        // Pick up status changes made while the card was detached; the title is re-fitted on resize
+        refresh();
     }
 
     @Override
@@ -205,14 +154,13 @@ public final class GoalItemContent extends JPanel implements Refreshable
         titleEdit.setCaretColor(color);
 
         progress.setText(
-            goal.getComplete().size() + "/" + goal.getTasks().size());
+            goal.getCompletedCount() + "/" + goal.getTaskCount());
         progress.setForeground(color);
 
-        int total = goal.getTasks().size();
-        int done = goal.getComplete().size();
+        int total = goal.getTaskCount();
+        int done = goal.getCompletedCount();
         progressBar.setVisible(total > 0);
         progressBar.setProgress(done, total, color);
-        SwingUtilities.invokeLater(this::updateTitleLabel);
     }
     private static class SlimBar extends JComponent {
         private int done = 0;
@@ -247,7 +195,8 @@ public final class GoalItemContent extends JPanel implements Refreshable
     {
         if (topRow == null) return;
         String full = goal.getDescription() != null ? goal.getDescription() : "";
-        titleLabel.setToolTipText(full.isEmpty() ? null : full);
+        // Shown by the owning list, so the label needs no mouse listener of its own
+        titleLabel.putClientProperty(TOOL_TIP_TEXT_KEY, full.isEmpty() ? null : full);
 
         // Compute available width for title (row width minus progress preferred width and a small gap)
         int rowW = topRow.getWidth();
@@ -255,28 +204,7 @@ public final class GoalItemContent extends JPanel implements Refreshable
         int gap = 8;
         int avail = Math.max(16, rowW - progress.getPreferredSize().width - gap);
 
-        FontMetrics fm = titleLabel.getFontMetrics(titleLabel.getFont());
-        if (fm.stringWidth(full) <= avail) {
-            titleLabel.setText(full);
-            return;
-        }
-        String ellipsis = "…";
-        String text = full;
-        // Binary-like trim from the end until it fits
-        int lo = 0, hi = full.length();
-        int cut = hi;
-        while (lo <= hi) {
-            int mid = (lo + hi) >>> 1;
-            String candidate = full.substring(0, Math.max(0, mid)) + ellipsis;
-            if (fm.stringWidth(candidate) <= avail) {
-                cut = mid;
-                lo = mid + 1;
-            } else {
-                hi = mid - 1;
-            }
-        }
-        text = full.substring(0, Math.max(0, cut)) + ellipsis;
-        titleLabel.setText(text);
+        titleLabel.setText(Ellipsis.fit(full, titleLabel.getFontMetrics(titleLabel.getFont()), avail));
     }
 
     private void enterEdit()
@@ -3,6 +3,7 @@ package com.ahdoozy.goaltrackerv2.ui;
 import com.ahdoozy.goaltrackerv2.GoalTrackerV2Plugin;
 import com.ahdoozy.goaltrackerv2.models.Goal;
 import com.ahdoozy.goaltrackerv2.models.ActionHistory;
+import com.ahdoozy.goaltrackerv2.models.AddPrereqsAction;
 import com.ahdoozy.goaltrackerv2.models.RemoveTaskAction;
 import com.ahdoozy.goaltrackerv2.models.enums.TaskType;
 import com.ahdoozy.goaltrackerv2.models.task.Task;
@@ -11,6 +12,7 @@ import com.ahdoozy.goaltrackerv2.ui.components.ListPanel;
 import com.ahdoozy.goaltrackerv2.ui.components.ListTaskPanel;
 import com.ahdoozy.goaltrackerv2.ui.components.ActionBar;
 import com.ahdoozy.goaltrackerv2.ui.components.ActionBarButton;
+import com.ahdoozy.goaltrackerv2.utils.ReorderableList;
 import javax.swing.*;
 import javax.swing.text.DefaultEditorKit;
 import javax.swing.text.JTextComponent;
@@ -31,6 +33,9 @@ public final class GoalPanel extends JPanel implements Refreshable
 {
     private final GoalTrackerV2Plugin plugin;
     private final Goal goal;
+    // The task list this panel was built for, and its version when the panel was last hidden
+    private final ReorderableList<Task> tasks;
+    private int detachedVersion;
 
     private final EditableInput descriptionInput;
     private final ListPanel<Task> taskListPanel;
@@ -48,6 +53,7 @@ public final class GoalPanel extends JPanel implements Refreshable
         super();
         this.plugin = plugin;
         this.goal = goal;
+        this.tasks = goal.getTasks();
 
         setLayout(new BorderLayout());
 
@@ -102,6 +108,7 @@ public final class GoalPanel extends JPanel implements Refreshable
         taskListPanel = new ListPanel<>(goal.getTasks(), (task) -> {
             ListTaskPanel taskPanel = new ListTaskPanel(goal.getTasks(), task);
             taskPanel.setActionHistory(actionHistory);
+            taskPanel.setTaskIndex(goal.getTaskIndex());
             TaskItemContent taskContent = new TaskItemContent(plugin, goal, task);
             taskContent.setActionHistory(actionHistory);
             taskPanel.add(taskContent);
@@ -165,6 +172,23 @@ public final class GoalPanel extends JPanel implements Refreshable
         repaint();
     }
 
+    /**
+     * Called when the panel is hidden, e.g. on Back.
+     */
+    void detach()
+    {
+        detachedVersion = tasks.getVersion();
+    }
+
+    /**
+     * Whether this panel can be shown again as is. Tasks changed while it was hidden would
+     * leave its undo history pointing at stale positions, so it is rebuilt instead.
+     */
+    boolean isCurrent()
+    {
+        return goal.getTasks() == tasks && tasks.getVersion() == detachedVersion;
+    }
+
     @Override
     public void refresh()
     {
@@ -284,32 +308,16 @@ public final class GoalPanel extends JPanel implements Refreshable
 
     private void addPrereqs()
     {
-        int processed = 0;
-        int invoked = 0;
-
-        java.util.List<TaskItemContent> contents = new java.util.ArrayList<>();
-        collectTaskItemContents(taskListPanel, contents);
-
-        for (TaskItemContent tic : contents)
+        boolean hasQuests = false;
+        for (Task t : goal.getTasks())
         {
-            Task t = tic.getTask();
-            if (t != null && t.getType() == TaskType.QUEST)
+            if (t.getType() == TaskType.QUEST)
             {
-                processed++;
-                if (tic.addPrereqsFromContext())
-                {
-                    invoked++;
-                }
+                hasQuests = true;
+                break;
             }
         }
-
-        // Refresh UI/state after batch
-        plugin.setValidateAll(true);
-        plugin.getUiStatusManager().refresh(goal);
-        refreshTaskList();
-        updateUndoRedoButtons();
-
-        if (processed == 0)
+        if (!hasQuests)
         {
             JOptionPane.showMessageDialog(this,
                     "No quest tasks found in this goal.",
@@ -318,27 +326,23 @@ public final class GoalPanel extends JPanel implements Refreshable
             return;
         }
 
-        if (invoked == 0)
+        // Expand every quest in one pass, then apply as one list change and one undo entry
+        AddPrereqsAction action = AddPrereqsAction.forAllQuests(goal.getTasks(), goal.getTaskIndex());
+        if (action == null)
         {
             JOptionPane.showMessageDialog(this,
                     "All pre-reqs have already been added.\n",
                     "Add pre-reqs",
                     JOptionPane.WARNING_MESSAGE);
+            return;
         }
-    }
+        action.redo();
+        actionHistory.push(action);
 
-    private static void collectTaskItemContents(Component root, java.util.List<TaskItemContent> out)
-    {
-        if (root instanceof TaskItemContent)
-        {
-            out.add((TaskItemContent) root);
-        }
-        if (root instanceof Container)
-        {
-            for (Component child : ((Container) root).getComponents())
-            {
-                collectTaskItemContents(child, out);
-            }
-        }
+        // One save and one refresh for the whole batch
+        this.goalUpdatedListener.accept(goal);
+        plugin.setValidateAll(true);
+        refreshTaskList();
+        updateUndoRedoButtons();
     }
 }
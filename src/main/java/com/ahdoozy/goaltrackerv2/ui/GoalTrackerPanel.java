@@ -23,6 +23,8 @@ import javax.swing.filechooser.FileNameExtensionFilter;
 import java.awt.*;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.function.Consumer;
 
 /**
@@ -32,6 +34,8 @@ import java.util.function.Consumer;
  */
 public final class GoalTrackerPanel extends PluginPanel implements Refreshable
 {
+    static final int MAX_CACHED_GOAL_PANELS = 4;
+
     private final JPanel mainPanel = new JPanel(new BorderLayout());
     private final ListPanel<Goal> goalListPanel;
     private final GoalTrackerV2Plugin plugin;
@@ -40,6 +44,15 @@ public final class GoalTrackerPanel extends PluginPanel implements Refreshable
     private ActionBarButton undoButtonRef;
     private ActionBarButton redoButtonRef;
     private GoalPanel goalPanel;
+    // Recently viewed goals, reattached by view() instead of rebuilt
+    private final Map<Goal, GoalPanel> goalPanels = new LinkedHashMap<Goal, GoalPanel>(8, 0.75f, true)
+    {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Goal, GoalPanel> eldest)
+        {
+            return size() > MAX_CACHED_GOAL_PANELS;
+        }
+    };
     private Consumer<Goal> goalAddedListener;
     private Consumer<Goal> goalUpdatedListener;
     private Consumer<Task> taskAddedListener;
@@ -100,6 +113,10 @@ public final class GoalTrackerPanel extends PluginPanel implements Refreshable
         actionBar.left().add(undoButtonRef);
         actionBar.left().add(redoButtonRef);
 
+        ActionBarButton archiveButton = new ActionBarButton("Archived", this::viewArchive);
+        archiveButton.setToolTipText("Completed goals, kept out of the main list");
+        actionBar.right().add(archiveButton);
+
         ActionBarButton exportButton = new ActionBarButton("Export", this::exportGoalsToFile);
         ActionBarButton importButton = new ActionBarButton("Import", this::importGoalsFromFile);
         actionBar.right().add(exportButton);
@@ -151,8 +168,15 @@ public final class GoalTrackerPanel extends PluginPanel implements Refreshable
 
     public void view(Goal goal)
     {
+        detachGoalPanel();
         removeAll();
-        this.goalPanel = new GoalPanel(plugin, goal, this::home);
+        GoalPanel cached = goalPanels.get(goal);
+        if (cached == null || !cached.isCurrent())
+        {
+            cached = new GoalPanel(plugin, goal, this::home);
+            goalPanels.put(goal, cached);
+        }
+        this.goalPanel = cached;
         this.goalPanel.onGoalUpdated(this.goalUpdatedListener);
         this.goalPanel.onTaskAdded(this.taskAddedListener);
         this.goalPanel.onTaskUpdated(this.taskUpdatedListener);
@@ -162,6 +186,20 @@ public final class GoalTrackerPanel extends PluginPanel implements Refreshable
         repaint();
     }
 
+    /**
+     * Show archived goals. The archive is only decoded here, when the user opens it.
+     */
+    public void viewArchive()
+    {
+        detachGoalPanel();
+        removeAll();
+        this.goalPanel = null;
+        add(new ArchivedGoalsPanel(goalManager, this::home,
+            goal -> plugin.evaluateGoals(Collections.singletonList(goal))), BorderLayout.CENTER);
+        revalidate();
+        repaint();
+    }
+
     public void home()
     {
         if (pendingNewGoal != null)
@@ -174,6 +212,9 @@ public final class GoalTrackerPanel extends PluginPanel implements Refreshable
                 pendingNewGoal = null;
             }
         }
+        detachGoalPanel();
+        // Drop panels of goals that were removed, imported over or archived
+        goalPanels.keySet().retainAll(goalManager.getGoals());
         removeAll();
         sortGoalsForHome();
         goalListPanel.tryBuildList();
@@ -189,6 +230,30 @@ public final class GoalTrackerPanel extends PluginPanel implements Refreshable
     }
 
 
+    /**
+     * Show another account's goals: components, refreshers and undo history built for the
+     * previous profile's goals are dropped rather than kept alongside the new ones.
+     */
+    public void switchProfile()
+    {
+        pendingNewGoal = null;
+        undoStack.clear();
+        updateUndoRedoButtons();
+        plugin.getUiStatusManager().clear();
+        goalPanels.clear();
+        goalListPanel.clearItemPanels();
+        home();
+    }
+
+    // Note the state of the goal panel being left, so view() can tell if it is still current
+    private void detachGoalPanel()
+    {
+        if (goalPanel != null)
+        {
+            goalPanel.detach();
+        }
+    }
+
     @Override
     public void refresh()
     {
@@ -344,6 +409,8 @@ public final class GoalTrackerPanel extends PluginPanel implements Refreshable
             String json = new String(java.nio.file.Files.readAllBytes(file.toPath()));
             goalManager.importJson(json);
             plugin.warmItemIcons();
+            plugin.prefetchItemIcons(goalManager.getGoals());
+            plugin.evaluateGoals(new java.util.ArrayList<>(goalManager.getGoals()));
             if (goalPanel != null) {
                 home();
             } else {
@@ -392,6 +459,8 @@ public final class GoalTrackerPanel extends PluginPanel implements Refreshable
         if (selected == null) { return; }
 
         goalManager.addGoals(selected.getGoals());
+        plugin.prefetchItemIcons(selected.getGoals());
+        plugin.evaluateGoals(selected.getGoals());
 
         if (goalPanel != null) {
             home();
@@ -5,22 +5,17 @@ import com.ahdoozy.goaltrackerv2.models.Goal;
 import com.ahdoozy.goaltrackerv2.models.task.Task;
 import com.ahdoozy.goaltrackerv2.services.TaskIconService;
 
-import java.util.Locale;
-
-import com.ahdoozy.goaltrackerv2.ui.components.ListItemPanel;
-import javax.swing.SwingUtilities;
+import com.ahdoozy.goaltrackerv2.ui.components.RowContent;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
 
+import com.ahdoozy.goaltrackerv2.utils.Ellipsis;
+
 import static com.ahdoozy.goaltrackerv2.utils.Constants.STATUS_TO_COLOR;
 
 import com.ahdoozy.goaltrackerv2.models.ActionHistory;
-import com.ahdoozy.goaltrackerv2.models.ToggleCompleteAction;
-import java.awt.event.MouseAdapter;
-import java.awt.event.MouseEvent;
-import com.ahdoozy.goaltrackerv2.models.enums.Status;
 
 import java.awt.event.ComponentAdapter;
 import java.awt.event.ComponentEvent;
@@ -30,10 +25,10 @@ import com.ahdoozy.goaltrackerv2.models.task.ManualTask;
 
 /**
  * UI component for rendering a single Task row inside a Goal.
- * Shows icon, title (editable for manual tasks), right-click context menu,
- * and handles refreshing on task updates.
+ * Shows icon and title (editable for manual tasks), and handles refreshing on task updates.
+ * Mouse input arrives through the owning list as a {@link RowContent}.
  */
-public final class TaskItemContent extends JPanel implements Refreshable
+public final class TaskItemContent extends JPanel implements Refreshable, RowContent
 {
     private final Task task;
     private final Goal goal;
@@ -81,64 +76,23 @@ public final class TaskItemContent extends JPanel implements Refreshable
 
         titleEditable = (task instanceof ManualTask);
         if (titleEditable) {
-            titleLabel.addMouseListener(new MouseAdapter() {
-                @Override public void mouseClicked(MouseEvent e) { enterEdit(); }
-            });
             titleEdit.addActionListener(e -> exitEdit(true));
             titleEdit.addFocusListener(new java.awt.event.FocusAdapter() {
                 @Override public void focusLost(java.awt.event.FocusEvent e) { exitEdit(true); }
             });
         }
+    }
 
-        // Right-click to toggle completion with ActionHistory
-        MouseAdapter contextMenuListener = new MouseAdapter()
+    /**
+     * Clicking the title of a manual task edits it.
+     */
+    @Override
+    public void rowClicked(Component target)
+    {
+        if (target == titleLabel)
         {
-            private void showMenuIfNeeded(MouseEvent e)
-            {
-                if (!(e.isPopupTrigger() || SwingUtilities.isRightMouseButton(e)))
-                {
-                    return;
-                }
-                // Prefer the parent ListItemPanel context menu (move up/down/remove, etc.)
-                Component src = (Component) e.getSource();
-                JComponent listItem = (JComponent) SwingUtilities.getAncestorOfClass(ListItemPanel.class, src);
-                if (listItem != null && listItem.getComponentPopupMenu() != null)
-                {
-                    Point p = SwingUtilities.convertPoint(src, e.getPoint(), listItem);
-                    listItem.getComponentPopupMenu().show(listItem, p.x, p.y);
-                    return;
-                }
-
-                // Fallback: show simple toggle menu if no parent popup menu is available
-                boolean currentlyComplete = task.getStatus() == Status.COMPLETED;
-                String label = currentlyComplete ? "Mark as Incomplete" : "Mark as Completed";
-
-                JPopupMenu menu = new JPopupMenu();
-                JMenuItem toggle = new JMenuItem(label);
-                toggle.addActionListener(a -> {
-                    ToggleCompleteAction act = new ToggleCompleteAction(task, currentlyComplete, !currentlyComplete);
-                    act.redo();
-                    if (actionHistory != null)
-                    {
-                        actionHistory.push(act);
-                    }
-                    plugin.getUiStatusManager().refresh(goal);
-                });
-                menu.add(toggle);
-                Component invoker = (Component) e.getSource();
-                menu.show(invoker, e.getX(), e.getY());
-            }
-
-            @Override public void mousePressed(MouseEvent e) { showMenuIfNeeded(e); }
-            @Override public void mouseReleased(MouseEvent e) { showMenuIfNeeded(e); }
-        };
-
-        // Attach listener to multiple components to make right-click reliable across platforms
-        this.addMouseListener(contextMenuListener);
-        titleStack.addMouseListener(contextMenuListener);
-        titleLabel.addMouseListener(contextMenuListener);
-        titleEdit.addMouseListener(contextMenuListener);
-        iconLabel.addMouseListener(contextMenuListener);
+            enterEdit();
+        }
     }
 
     public void setActionHistory(ActionHistory history)
@@ -171,7 +125,8 @@ public final class TaskItemContent extends JPanel implements Refreshable
     private void updateTitleLabel()
     {
         String full = task.toString();
-        titleLabel.setToolTipText((full == null || full.isEmpty()) ? null : full);
+        // Shown by the owning list, so the label needs no mouse listener of its own
+        titleLabel.putClientProperty(TOOL_TIP_TEXT_KEY, (full == null || full.isEmpty()) ? null : full);
         if (getWidth() <= 0) { titleLabel.setText(full); return; }
 
         int insets = 0;
@@ -183,20 +138,7 @@ public final class TaskItemContent extends JPanel implements Refreshable
         int gap = 8;
         int avail = Math.max(16, getWidth() - insets - iconW - gap);
 
-        FontMetrics fm = titleLabel.getFontMetrics(titleLabel.getFont());
-        if (full == null) full = "";
-        if (fm.stringWidth(full) <= avail) { titleLabel.setText(full); return; }
-
-        String ellipsis = "…";
-        int lo = 0, hi = full.length();
-        int cut = hi;
-        while (lo <= hi) {
-            int mid = (lo + hi) >>> 1;
-            String candidate = full.substring(0, Math.max(0, mid)) + ellipsis;
-            if (fm.stringWidth(candidate) <= avail) { cut = mid; lo = mid + 1; }
-            else { hi = mid - 1; }
-        }
-        titleLabel.setText(full.substring(0, Math.max(0, cut)) + ellipsis);
+        titleLabel.setText(Ellipsis.fit(full, titleLabel.getFontMetrics(titleLabel.getFont()), avail));
     }
 
     private void enterEdit()
@@ -215,6 +157,7 @@ public final class TaskItemContent extends JPanel implements Refreshable
             String newText = titleEdit.getText();
             if (newText != null && task instanceof ManualTask) {
                 ((ManualTask) task).setDescription(newText);
+                goal.getTaskIndex().invalidate();
             }
         }
         ((CardLayout) titleStack.getLayout()).show(titleStack, "label");
@@ -226,57 +169,4 @@ public final class TaskItemContent extends JPanel implements Refreshable
     {
         return task;
     }
-
-    /**
-     * Try to invoke the same context menu action as right-click -> "Add prerequisites".
-     * @return true if the action was found and invoked, false otherwise
-     */
-    public boolean addPrereqsFromContext()
-    {
-        JComponent listItem = (JComponent) SwingUtilities.getAncestorOfClass(ListItemPanel.class, this);
-        if (listItem == null || listItem.getComponentPopupMenu() == null)
-        {
-            return false;
-        }
-
-        JPopupMenu menu = listItem.getComponentPopupMenu();
-        // Accept several label variants (case-insensitive)
-        String[] targets = new String[] {
-                "add prerequisites", "add pre-reqs", "add prereqs", "prerequisites"
-        };
-
-        return clickMenuItemByLabels(menu.getSubElements(), targets);
-    }
-
-    // Recursively search menu/submenus for a matching label and click it.
-    private static boolean clickMenuItemByLabels(MenuElement[] items, String[] needles)
-    {
-        for (MenuElement me : items)
-        {
-            if (me instanceof JMenuItem)
-            {
-                JMenuItem it = (JMenuItem) me;
-                String txt = it.getText();
-                if (txt != null)
-                {
-                    String lower = txt.toLowerCase(Locale.ROOT).trim();
-                    for (String needle : needles)
-                    {
-                        if (lower.contains(needle))
-                        {
-                            it.doClick();
-                            return true;
-                        }
-                    }
-                }
-            }
-            // Recurse into submenus and containers
-            MenuElement[] children = me.getSubElements();
-            if (children != null && children.length > 0 && clickMenuItemByLabels(children, needles))
-            {
-                return true;
-            }
-        }
-        return false;
-    }
 }
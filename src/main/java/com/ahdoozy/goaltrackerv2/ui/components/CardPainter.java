@@ -0,0 +1,153 @@
+package com.ahdoozy.goaltrackerv2.ui.components;
+
+import lombok.Value;
+import net.runelite.client.ui.ColorScheme;
+
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Insets;
+import java.awt.Transparency;
+import java.awt.geom.Path2D;
+import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Paints goal card chrome: outer margin, drop shadow, card face and outline. Each
+ * (size, {@link State}) is rendered once into an opaque image, with the translucent shadow
+ * already blended onto the background, so painting a card is a single blit. Cards in a
+ * list share a width, so a handful of images serve the whole list. The cache is cleared
+ * when the plugin stops. Swing thread only.
+ */
+final class CardPainter
+{
+    static final int MAX_CACHED = 16;
+
+    // Space around the card face taken by the margin and the shadow
+    private static final Insets MARGIN = new Insets(8, 6, 8, 6);
+    private static final Insets SHADOW = new Insets(2, 2, 4, 4);
+    static final Insets CHROME_INSETS = new Insets(
+        MARGIN.top + SHADOW.top, MARGIN.left + SHADOW.left, MARGIN.bottom + SHADOW.bottom, MARGIN.right + SHADOW.right);
+    private static final Color SHADOW_COLOR = new Color(0, 0, 0, 60);
+
+    private static final Map<Key, BufferedImage> CACHE = new LinkedHashMap<Key, BufferedImage>(16, 0.75f, true)
+    {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, BufferedImage> eldest)
+        {
+            return size() > MAX_CACHED;
+        }
+    };
+
+    /** Interaction state of a card, which sets the color of its face. */
+    enum State
+    {
+        IDLE(ColorScheme.DARK_GRAY_COLOR),
+        HOVERED(ColorScheme.DARK_GRAY_HOVER_COLOR),
+        PRESSED(ColorScheme.DARK_GRAY_COLOR);
+
+        private final Color face;
+
+        State(Color face)
+        {
+            this.face = face;
+        }
+    }
+
+    private CardPainter()
+    {
+    }
+
+    /** Paint the chrome for a card filling {@code c}. */
+    static void paint(Graphics g, Component c, State state)
+    {
+        if (c.getWidth() <= 0 || c.getHeight() <= 0)
+        {
+            return;
+        }
+        g.drawImage(image(c.getGraphicsConfiguration(), c.getWidth(), c.getHeight(), state), 0, 0, null);
+    }
+
+    static BufferedImage image(GraphicsConfiguration gc, int width, int height, State state)
+    {
+        final Key key = new Key(width, height, state);
+        BufferedImage image = CACHE.get(key);
+        if (image == null)
+        {
+            image = render(gc, width, height, state);
+            CACHE.put(key, image);
+        }
+        return image;
+    }
+
+    /** Drop every rendered image, e.g. when the plugin stops. */
+    static void invalidate()
+    {
+        CACHE.clear();
+    }
+
+    static int cachedCount()
+    {
+        return CACHE.size();
+    }
+
+    private static BufferedImage render(GraphicsConfiguration gc, int width, int height, State state)
+    {
+        final BufferedImage image = gc == null || GraphicsEnvironment.isHeadless()
+            ? new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB)
+            : gc.createCompatibleImage(width, height, Transparency.OPAQUE);
+        final Graphics2D g = image.createGraphics();
+        try
+        {
+            g.setColor(ColorScheme.DARK_GRAY_COLOR);
+            g.fillRect(0, 0, width, height);
+
+            // Shadow ring around the card face, the way a MatteBorder fills its edges
+            final int x = MARGIN.left;
+            final int y = MARGIN.top;
+            final int w = width - MARGIN.left - MARGIN.right;
+            final int h = height - MARGIN.top - MARGIN.bottom;
+            if (w <= SHADOW.left + SHADOW.right || h <= SHADOW.top + SHADOW.bottom)
+            {
+                return image;
+            }
+            g.setColor(SHADOW_COLOR);
+            g.fillRect(x, y, w - SHADOW.right, SHADOW.top);
+            g.fillRect(x, y + SHADOW.top, SHADOW.left, h - SHADOW.top);
+            g.fillRect(x + SHADOW.left, y + h - SHADOW.bottom, w - SHADOW.left, SHADOW.bottom);
+            g.fillRect(x + w - SHADOW.right, y, SHADOW.right, h - SHADOW.bottom);
+
+            // Card face with a 1px rounded outline
+            final int fx = x + SHADOW.left;
+            final int fy = y + SHADOW.top;
+            final int fw = w - SHADOW.left - SHADOW.right;
+            final int fh = h - SHADOW.top - SHADOW.bottom;
+            g.setColor(state.face);
+            g.fillRect(fx, fy, fw, fh);
+
+            final Path2D outline = new Path2D.Float(Path2D.WIND_EVEN_ODD);
+            outline.append(new RoundRectangle2D.Float(fx, fy, fw, fh, 1, 1), false);
+            outline.append(new RoundRectangle2D.Float(fx + 1, fy + 1, fw - 2, fh - 2, 0.2f, 0.2f), false);
+            g.setColor(ColorScheme.DARK_GRAY_COLOR);
+            g.fill(outline);
+        }
+        finally
+        {
+            g.dispose();
+        }
+        return image;
+    }
+
+    @Value
+    private static class Key
+    {
+        int width;
+        int height;
+        State state;
+    }
+}
@@ -4,9 +4,7 @@ import com.ahdoozy.goaltrackerv2.utils.ReorderableList;
 import com.ahdoozy.goaltrackerv2.ui.Refreshable;
 import com.ahdoozy.goaltrackerv2.models.Goal;
 import java.awt.BorderLayout;
-import java.awt.Color;
 import java.awt.Component;
-import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.util.function.Consumer;
 import java.util.function.BiConsumer;
@@ -15,22 +13,15 @@ import javax.swing.JPanel;
 import javax.swing.JPopupMenu;
 import javax.swing.JComponent;
 import javax.swing.border.EmptyBorder;
-import javax.swing.border.MatteBorder;
 import net.runelite.client.ui.ColorScheme;
 
 /**
  * Generic panel representing a list item (Goal or Task).
- * Provides context menu actions (move, remove) and hover/press styling.
+ * Provides context menu actions (move, remove) and hover/press styling. Menu items are
+ * created only when the list's shared context menu opens for this row.
  */
 public class ListItemPanel<T> extends JPanel implements Refreshable
 {
-    protected final JMenuItem moveUp = new JMenuItem("Move up");
-    protected final JMenuItem moveDown = new JMenuItem("Move down");
-    protected final JMenuItem moveToTop = new JMenuItem("Move to top");
-    protected final JMenuItem moveToBottom = new JMenuItem("Move to bottom");
-    protected final JMenuItem removeItem = new JMenuItem("Remove");
-    protected final JPopupMenu popupMenu = new JPopupMenu();
-
     protected final ReorderableList<T> list;
     protected final T item;
 
@@ -38,50 +29,12 @@ public class ListItemPanel<T> extends JPanel implements Refreshable
     protected Consumer<T> removedListener;
     protected BiConsumer<T, Integer> removedWithIndexListener;
 
-    private MouseAdapter clickListenerAdapter;
+    private Consumer<MouseEvent> clickListener;
+    private RowContent content;
 
-    // Inner face of the goal card; only this area changes color on hover/press
+    // Holds the row content; for goal cards it is transparent over the painted card face
     private JPanel cardBody;
-
-    private void addClickListenerRecursive(Component c)
-    {
-        if (clickListenerAdapter == null) return;
-        c.addMouseListener(clickListenerAdapter);
-        if (c instanceof java.awt.Container)
-        {
-            for (Component child : ((java.awt.Container) c).getComponents())
-            {
-                addClickListenerRecursive(child);
-            }
-        }
-    }
-
-    private void addContextMenuListenerRecursive(Component c)
-    {
-        c.addMouseListener(contextMenuListener);
-        if (c instanceof java.awt.Container)
-        {
-            for (Component child : ((java.awt.Container) c).getComponents())
-            {
-                addContextMenuListenerRecursive(child);
-            }
-        }
-    }
-
-    private final MouseAdapter contextMenuListener = new MouseAdapter()
-    {
-        private void maybeShow(MouseEvent e)
-        {
-            if (!(e.isPopupTrigger() || javax.swing.SwingUtilities.isRightMouseButton(e)))
-            {
-                return;
-            }
-            popupMenu.show((Component) e.getSource(), e.getX(), e.getY());
-        }
-
-        @Override public void mousePressed(MouseEvent e) { maybeShow(e); }
-        @Override public void mouseReleased(MouseEvent e) { maybeShow(e); }
-    };
+    private CardPainter.State cardState = CardPainter.State.IDLE;
 
     public ListItemPanel(ReorderableList<T> list, T item)
     {
@@ -89,53 +42,24 @@ public class ListItemPanel<T> extends JPanel implements Refreshable
         this.list = list;
         this.item = item;
 
-        // Create inner card surface to isolate hover/press background changes
         cardBody = new JPanel(new BorderLayout());
         cardBody.setOpaque(true);
         // Add the cardBody as the main content area
         super.add(cardBody, BorderLayout.CENTER);
 
         if (item instanceof Goal) {
-            applyGoalCardDefaultStyle();
+            // Margin, shadow and card face are painted by CardPainter; borders only reserve their space
+            setBorder(new EmptyBorder(CardPainter.CHROME_INSETS));
+            setBackground(ColorScheme.DARK_GRAY_COLOR);
+            // 1px outline + inner padding
+            cardBody.setBorder(new EmptyBorder(7, 9, 7, 9));
+            cardBody.setOpaque(false);
         } else {
             setBorder(new EmptyBorder(2, 4, 2, 4)); // add horizontal and vertical spacing for tasks
             setBackground(ColorScheme.DARK_GRAY_COLOR);
         }
 
-        moveUp.addActionListener(e -> {
-            list.moveUp(item);
-            if (this.reorderedListener != null) this.reorderedListener.accept(item);
-        });
-
-        moveDown.addActionListener(e -> {
-            list.moveDown(item);
-            if (this.reorderedListener != null) this.reorderedListener.accept(item);
-        });
-
-        moveToTop.addActionListener(e -> {
-            list.moveToTop(item);
-            if (this.reorderedListener != null) this.reorderedListener.accept(item);
-        });
-
-        moveToBottom.addActionListener(e -> {
-            list.moveToBottom(item);
-            if (this.reorderedListener != null) this.reorderedListener.accept(item);
-        });
-
-        removeItem.addActionListener(e -> {
-            int index = list.indexOf(item);
-            list.remove(item);
-            if (this.removedWithIndexListener != null) this.removedWithIndexListener.accept(item, index);
-            if (this.removedListener != null) this.removedListener.accept(item);
-        });
-
-        popupMenu.setBorder(new EmptyBorder(5, 5, 5, 5));
-
-        setComponentPopupMenu(popupMenu);
-        // Also show context menu on press/release to handle platform differences
-        this.addMouseListener(contextMenuListener);
-        // Ensure popup and click listeners cover all descendants initially
-        addContextMenuListenerRecursive(this);
+        // No mouse listeners here: the owning ListPanel dispatches events to this row
         setOpaque(true);
     }
 
@@ -150,8 +74,7 @@ public class ListItemPanel<T> extends JPanel implements Refreshable
             {
                 ((JComponent) comp).setBorder(new EmptyBorder(0, 0, 0, 0));
             }
-            addContextMenuListenerRecursive(comp);
-            if (clickListenerAdapter != null) addClickListenerRecursive(comp);
+            setContent(comp);
             return;
         }
         super.add(comp, constraints);
@@ -167,8 +90,7 @@ public class ListItemPanel<T> extends JPanel implements Refreshable
             {
                 ((JComponent) comp).setBorder(new EmptyBorder(0, 0, 0, 0));
             }
-            addContextMenuListenerRecursive(comp);
-            if (clickListenerAdapter != null) addClickListenerRecursive(comp);
+            setContent(comp);
             return comp;
         }
         return super.add(name, comp);
@@ -182,59 +104,13 @@ public class ListItemPanel<T> extends JPanel implements Refreshable
         {
             ((JComponent) comp).setBorder(new EmptyBorder(0, 0, 0, 0));
         }
-        addContextMenuListenerRecursive(comp);
-        if (clickListenerAdapter != null) addClickListenerRecursive(comp);
+        setContent(comp);
         return this;
     }
 
     public void onClick(Consumer<MouseEvent> clickListener)
     {
-        clickListenerAdapter = new MouseAdapter()
-        {
-            @Override
-            public void mousePressed(MouseEvent e)
-            {
-                if (e.getButton() == MouseEvent.BUTTON1)
-                {
-                    if (item instanceof Goal) {
-                        applyGoalCardPressedStyle();
-                    }
-                    clickListener.accept(e);
-                }
-            }
-
-            @Override
-            public void mouseEntered(MouseEvent e)
-            {
-                if (item instanceof Goal) {
-                    applyGoalCardHoverStyle();
-                }
-            }
-
-            @Override
-            public void mouseExited(MouseEvent e)
-            {
-                if (item instanceof Goal) {
-                    applyGoalCardDefaultStyle();
-                }
-            }
-
-            @Override
-            public void mouseReleased(MouseEvent e)
-            {
-                if (item instanceof Goal) {
-                    if (contains(e.getPoint())) {
-                        applyGoalCardHoverStyle();
-                    } else {
-                        applyGoalCardDefaultStyle();
-                    }
-                }
-            }
-        };
-
-        // Attach to this panel and all current children
-        addMouseListener(clickListenerAdapter);
-        addClickListenerRecursive(this);
+        this.clickListener = clickListener;
 
         // Optional: use a hand cursor to indicate clickability
         setCursor(new java.awt.Cursor(java.awt.Cursor.HAND_CURSOR));
@@ -252,63 +128,104 @@ public class ListItemPanel<T> extends JPanel implements Refreshable
         this.removedWithIndexListener = removeListener;
     }
 
-    private void applyGoalCardDefaultStyle()
+    private void setContent(Component comp)
     {
-        // Outer spacing + shadow on the container panel
-        setBorder(javax.swing.BorderFactory.createCompoundBorder(
-            new EmptyBorder(8, 6, 8, 6),
-            new MatteBorder(2, 2, 4, 4, new Color(0, 0, 0, 60)) // shadow on all sides
-        ));
-        setBackground(ColorScheme.DARK_GRAY_COLOR); // keep outer area stable
-
-        // Inner card face: rounded outline + inner padding
-        if (cardBody != null)
+        if (comp instanceof RowContent)
         {
-            cardBody.setBorder(javax.swing.BorderFactory.createCompoundBorder(
-                javax.swing.BorderFactory.createLineBorder(ColorScheme.DARK_GRAY_COLOR, 1, true),
-                new EmptyBorder(6, 8, 6, 8)
-            ));
-            cardBody.setBackground(ColorScheme.DARK_GRAY_COLOR);
+            content = (RowContent) comp;
         }
     }
 
-    private void applyGoalCardHoverStyle()
+    /**
+     * Drop the cached goal card images. Call on the EDT when the plugin stops.
+     */
+    public static void releaseCardImages()
     {
-        if (cardBody != null)
+        CardPainter.invalidate();
+    }
+
+    /**
+     * Left button pressed on this row; {@code e} is in this row's coordinates.
+     */
+    void rowPressed(MouseEvent e)
+    {
+        if (clickListener == null)
         {
-            cardBody.setBackground(ColorScheme.DARK_GRAY_HOVER_COLOR);
+            return;
         }
+        setCardState(CardPainter.State.PRESSED);
+        clickListener.accept(e);
     }
 
-    private void applyGoalCardPressedStyle()
+    /**
+     * Left click on {@code target} within this row. Shift-click is routed to {@link #shiftClicked()}.
+     */
+    void rowClicked(Component target, MouseEvent e)
     {
-        if (cardBody != null)
+        if (e.isShiftDown())
+        {
+            shiftClicked();
+        }
+        else if (content != null)
         {
-            cardBody.setBackground(ColorScheme.DARK_GRAY_COLOR);
+            content.rowClicked(target);
         }
     }
 
-    @Override
-    public void refresh()
+    /**
+     * Pointer entered or left this row.
+     */
+    void setHovered(boolean hovered)
     {
-        // Refresh the context menu
-        popupMenu.removeAll();
-        if (!list.isFirst(item)) {
-            popupMenu.add(moveUp);
-        }
-        if (!list.isLast(item)) {
-            popupMenu.add(moveDown);
+        if (clickListener != null)
+        {
+            setCardState(hovered ? CardPainter.State.HOVERED : CardPainter.State.IDLE);
         }
-        if (!list.isFirst(item)) {
-            popupMenu.add(moveToTop);
+    }
+
+    /**
+     * Fill the list's shared context menu for this row, from the current state of the model.
+     */
+    void buildContextMenu(JPopupMenu menu)
+    {
+        addMenuItems(menu);
+        if (content != null)
+        {
+            content.contextMenuOpening(menu);
         }
-        if (!list.isLast(item)) {
-            popupMenu.add(moveToBottom);
+    }
+
+    /**
+     * Hook for subclasses to act on shift + left click.
+     */
+    protected void shiftClicked()
+    {
+    }
+
+    private void setCardState(CardPainter.State state)
+    {
+        if (item instanceof Goal && state != cardState)
+        {
+            cardState = state;
+            repaint();
         }
-        popupMenu.add(removeItem);
+    }
 
-        buildAdditionalMenu();
+    @Override
+    protected void paintComponent(java.awt.Graphics g)
+    {
+        if (item instanceof Goal)
+        {
+            // Cached opaque image of the card chrome for this size and state
+            CardPainter.paint(g, this, cardState);
+            return;
+        }
+        super.paintComponent(g);
+    }
 
+    @Override
+    public void refresh()
+    {
         // Refresh all descendants that implement Refreshable
         for (Component component : getComponents()) {
             refreshDescendants(component);
@@ -318,33 +235,63 @@ public class ListItemPanel<T> extends JPanel implements Refreshable
     }
 
     /**
-     * Hook for subclasses to append extra context‑menu items.
-     * Base implementation adds Goal‑specific actions only.
+     * Add this row's actions to the context menu. Called each time the menu opens, so
+     * items always reflect the row's current position and state.
      */
-    protected void buildAdditionalMenu()
+    protected void addMenuItems(JPopupMenu menu)
     {
+        if (!list.isFirst(item)) {
+            menu.add(menuItem("Move up", () -> moved(list::moveUp)));
+        }
+        if (!list.isLast(item)) {
+            menu.add(menuItem("Move down", () -> moved(list::moveDown)));
+        }
+        if (!list.isFirst(item)) {
+            menu.add(menuItem("Move to top", () -> moved(list::moveToTop)));
+        }
+        if (!list.isLast(item)) {
+            menu.add(menuItem("Move to bottom", () -> moved(list::moveToBottom)));
+        }
+        menu.add(menuItem("Remove", this::removeFromList));
+
         if (item instanceof Goal)
         {
-            JMenuItem markAllComplete = new JMenuItem("Mark all as completed");
-            JMenuItem markAllIncomplete = new JMenuItem("Mark all as incomplete");
-
-            markAllComplete.addActionListener(e -> {
-                Goal goal = (Goal) item;
+            Goal goal = (Goal) item;
+            menu.addSeparator();
+            menu.add(menuItem("Mark all as completed", () -> {
                 goal.setAllTasksCompleted(true);
                 refresh();
-            });
-
-            markAllIncomplete.addActionListener(e -> {
-                Goal goal = (Goal) item;
+            }));
+            menu.add(menuItem("Mark all as incomplete", () -> {
                 goal.setAllTasksCompleted(false);
                 refresh();
-            });
-
-            popupMenu.addSeparator();
-            popupMenu.add(markAllComplete);
-            popupMenu.add(markAllIncomplete);
+            }));
         }
-        // Non‑Goal rows (e.g., Tasks) should add their own items in subclasses like ListTaskPanel
+        // Non‑Goal rows (e.g., Tasks) add their own items in subclasses like ListTaskPanel
+    }
+
+    /**
+     * Remove this item from the list and notify listeners.
+     */
+    protected void removeFromList()
+    {
+        int index = list.indexOf(item);
+        list.remove(item);
+        if (this.removedWithIndexListener != null) this.removedWithIndexListener.accept(item, index);
+        if (this.removedListener != null) this.removedListener.accept(item);
+    }
+
+    protected static JMenuItem menuItem(String text, Runnable action)
+    {
+        JMenuItem menuItem = new JMenuItem(text);
+        menuItem.addActionListener(e -> action.run());
+        return menuItem;
+    }
+
+    private void moved(Consumer<T> move)
+    {
+        move.accept(item);
+        if (this.reorderedListener != null) this.reorderedListener.accept(item);
     }
 
     private void refreshDescendants(Component c)
@@ -7,6 +7,8 @@ import net.runelite.client.ui.ColorScheme;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -20,12 +22,23 @@ import java.util.stream.Collectors;
  */
 public final class ListPanel<T> extends JScrollPane implements Refreshable
 {
-    private final JPanel listPanel = new JPanel(new GridBagLayout());
+    private final JPanel listPanel = new JPanel(new GridBagLayout())
+    {
+        // Rows register no tooltips of their own; show the one set on the component under the pointer
+        @Override
+        public String getToolTipText(MouseEvent e)
+        {
+            Component target = SwingUtilities.getDeepestComponentAt(this, e.getX(), e.getY());
+            return target instanceof JComponent && target != this ? ((JComponent) target).getToolTipText() : null;
+        }
+    };
 
     private final ReorderableList<T> reorderableList;
     private final Function<T, ListItemPanel<T>> renderItem;
 
     private final Map<T, ListItemPanel<T>> itemPanelMap = new HashMap<>();
+    // One menu for every row, filled for the clicked row each time it opens
+    private final JPopupMenu contextMenu = new JPopupMenu();
 
     private int gap = 2;
     private String placeholder = "Nothing interesting happens.";
@@ -42,6 +55,12 @@ public final class ListPanel<T> extends JScrollPane implements Refreshable
         setBorder(new EmptyBorder(10, 10, 10, 10));
 
         listPanel.setBackground(ColorScheme.DARKER_GRAY_COLOR);
+        // One listener for every row; components inside rows have none, so their events reach it
+        RowMouseDispatcher dispatcher = new RowMouseDispatcher();
+        listPanel.addMouseListener(dispatcher);
+        listPanel.addMouseMotionListener(dispatcher);
+        ToolTipManager.sharedInstance().registerComponent(listPanel);
+        contextMenu.setBorder(new EmptyBorder(5, 5, 5, 5));
 
         JPanel wrapperPanel = new JPanel(new BorderLayout());
         wrapperPanel.setBackground(ColorScheme.DARKER_GRAY_COLOR);
@@ -71,6 +90,15 @@ public final class ListPanel<T> extends JScrollPane implements Refreshable
         tryBuildList();
     }
 
+    /**
+     * Discard every cached item panel so the next build renders items from scratch.
+     */
+    public void clearItemPanels()
+    {
+        itemPanelMap.clear();
+        listPanel.removeAll();
+    }
+
     private List<ListItemPanel<T>> buildItemPanels()
     {
         return reorderableList
@@ -132,15 +160,6 @@ public final class ListPanel<T> extends JScrollPane implements Refreshable
         return constraints;
     }
 
-    private void refreshChildMenus()
-    {
-        for (Component component : listPanel.getComponents()) {
-            if (component instanceof ListItemPanel) {
-                ((Refreshable) component).refresh();
-            }
-        }
-    }
-
     /**
      * Build the initial list, if items are provided otherwise build a placeholder
      */
@@ -165,11 +184,119 @@ public final class ListPanel<T> extends JScrollPane implements Refreshable
             });
         }
 
-        refreshChildMenus();
         revalidate();
     }
 
     public void onUpdated(Consumer<T> listener) {
         this.updatedListener = listener;
     }
+
+    /**
+     * Hit-tests mouse events on the list and dispatches click, hover, shift-remove and
+     * context-menu events to the row under the pointer.
+     */
+    private final class RowMouseDispatcher extends MouseAdapter
+    {
+        private ListItemPanel<?> hovered;
+
+        private ListItemPanel<?> rowAt(Point p)
+        {
+            Component row = listPanel.getComponentAt(p);
+            return row instanceof ListItemPanel ? (ListItemPanel<?>) row : null;
+        }
+
+        private void setHovered(ListItemPanel<?> row)
+        {
+            if (row == hovered)
+            {
+                return;
+            }
+            if (hovered != null)
+            {
+                hovered.setHovered(false);
+            }
+            hovered = row;
+            if (row != null)
+            {
+                row.setHovered(true);
+            }
+        }
+
+        // Popup trigger is on press on some platforms and on release on others
+        private boolean maybeShowMenu(MouseEvent e, ListItemPanel<?> row)
+        {
+            if (!(e.isPopupTrigger() || SwingUtilities.isRightMouseButton(e)))
+            {
+                return false;
+            }
+            contextMenu.removeAll();
+            row.buildContextMenu(contextMenu);
+            if (contextMenu.getComponentCount() > 0)
+            {
+                Point p = SwingUtilities.convertPoint(listPanel, e.getPoint(), row);
+                contextMenu.show(row, p.x, p.y);
+            }
+            return true;
+        }
+
+        @Override
+        public void mousePressed(MouseEvent e)
+        {
+            ListItemPanel<?> row = rowAt(e.getPoint());
+            if (row == null || maybeShowMenu(e, row))
+            {
+                return;
+            }
+            if (e.getButton() == MouseEvent.BUTTON1)
+            {
+                row.rowPressed(SwingUtilities.convertMouseEvent(listPanel, e, row));
+            }
+        }
+
+        @Override
+        public void mouseReleased(MouseEvent e)
+        {
+            ListItemPanel<?> row = rowAt(e.getPoint());
+            if (row != null && maybeShowMenu(e, row))
+            {
+                return;
+            }
+            setHovered(row);
+            if (row != null)
+            {
+                // Restore hover styling after a press
+                row.setHovered(true);
+            }
+        }
+
+        @Override
+        public void mouseClicked(MouseEvent e)
+        {
+            ListItemPanel<?> row = rowAt(e.getPoint());
+            if (row == null || !SwingUtilities.isLeftMouseButton(e))
+            {
+                return;
+            }
+            Component target = SwingUtilities.getDeepestComponentAt(listPanel, e.getX(), e.getY());
+            row.rowClicked(target, e);
+        }
+
+        @Override
+        public void mouseMoved(MouseEvent e)
+        {
+            setHovered(rowAt(e.getPoint()));
+        }
+
+        @Override
+        public void mouseEntered(MouseEvent e)
+        {
+            setHovered(rowAt(e.getPoint()));
+        }
+
+        @Override
+        public void mouseExited(MouseEvent e)
+        {
+            setHovered(null);
+        }
+    }
 }
@@ -8,13 +8,13 @@ import com.ahdoozy.goaltrackerv2.utils.ReorderableList;
 import com.ahdoozy.goaltrackerv2.models.task.Task;
 import com.ahdoozy.goaltrackerv2.models.enums.Status;
 import java.util.function.Consumer;
-import javax.swing.JMenuItem;
-import java.awt.event.MouseAdapter;
-import java.awt.event.MouseEvent;
-import java.awt.Component;
+import javax.swing.JMenu;
+import javax.swing.JPopupMenu;
 import javax.swing.SwingUtilities;
 import java.awt.Container;
 import com.ahdoozy.goaltrackerv2.models.ActionHistory;
+import com.ahdoozy.goaltrackerv2.models.AddPrereqsAction;
+import com.ahdoozy.goaltrackerv2.models.TaskIndex;
 import com.ahdoozy.goaltrackerv2.models.ReorderTaskAction;
 
 /**
@@ -25,345 +25,16 @@ public final class ListTaskPanel extends ListItemPanel<Task>
 {
     private TaskItemContent taskContent;
 
-    private final JMenuItem indentItem = new JMenuItem("Indent");
-    private final JMenuItem unindentItem = new JMenuItem("Unindent");
-
     private Consumer<Task> indentedListener;
     private Consumer<Task> unindentedListener;
 
     private ActionHistory history;
 
-    private final MouseAdapter shiftClickRemoveListener = new MouseAdapter() {
-        @Override
-        public void mouseClicked(MouseEvent e) {
-            if (e.isShiftDown() && SwingUtilities.isLeftMouseButton(e)) {
-                removeItem.doClick();
-            }
-        }
-    };
-
-    private void addShiftRemoveListenerRecursive(Component c)
-    {
-        c.addMouseListener(shiftClickRemoveListener);
-        if (c instanceof Container)
-        {
-            for (Component child : ((Container) c).getComponents())
-            {
-                addShiftRemoveListenerRecursive(child);
-            }
-        }
-    }
+    private TaskIndex taskIndex;
 
     public ListTaskPanel(ReorderableList<Task> list, Task item)
     {
         super(list, item);
-
-        indentItem.addActionListener(e -> {
-            int index = list.indexOf(item);
-            int baseIndent = item.getIndentLevel();
-
-            // Collect affected tasks (item + descendants until sibling/parent)
-            java.util.List<Task> affected = new java.util.ArrayList<>();
-            java.util.List<Integer> oldIndents = new java.util.ArrayList<>();
-
-            affected.add(item);
-            oldIndents.add(baseIndent);
-            for (int i = index + 1; i < list.size(); i++) {
-                var child = list.get(i);
-                if (child.getIndentLevel() <= baseIndent) break;
-                affected.add(child);
-                oldIndents.add(child.getIndentLevel());
-            }
-
-            ActionHistory.Action act = new ActionHistory.Action() {
-                @Override public void undo() {
-                    for (int i = 0; i < affected.size(); i++) {
-                        affected.get(i).setIndentLevel(oldIndents.get(i));
-                    }
-                }
-                @Override public void redo() {
-                    for (int i = 0; i < affected.size(); i++) {
-                        affected.get(i).setIndentLevel(oldIndents.get(i) + 1);
-                    }
-                }
-            };
-
-            if (history != null) {
-                act.redo();
-                history.push(act);
-            } else {
-                // Fallback: apply directly
-                for (int i = 0; i < affected.size(); i++) {
-                    affected.get(i).setIndentLevel(oldIndents.get(i) + 1);
-                }
-            }
-
-            if (this.indentedListener != null) this.indentedListener.accept(item);
-            refreshParentList();
-        });
-
-        unindentItem.addActionListener(e -> {
-            int index = list.indexOf(item);
-            int baseIndent = item.getIndentLevel();
-
-            // Collect affected tasks (item + descendants until sibling/parent)
-            java.util.List<Task> affected = new java.util.ArrayList<>();
-            java.util.List<Integer> oldIndents = new java.util.ArrayList<>();
-
-            affected.add(item);
-            oldIndents.add(baseIndent);
-            for (int i = index + 1; i < list.size(); i++) {
-                var child = list.get(i);
-                if (child.getIndentLevel() <= baseIndent) break;
-                affected.add(child);
-                oldIndents.add(child.getIndentLevel());
-            }
-
-            ActionHistory.Action act = new ActionHistory.Action() {
-                @Override public void undo() {
-                    for (int i = 0; i < affected.size(); i++) {
-                        affected.get(i).setIndentLevel(oldIndents.get(i));
-                    }
-                }
-                @Override public void redo() {
-                    for (int i = 0; i < affected.size(); i++) {
-                        affected.get(i).setIndentLevel(Math.max(0, oldIndents.get(i) - 1));
-                    }
-                }
-            };
-
-            if (history != null) {
-                act.redo();
-                history.push(act);
-            } else {
-                for (int i = 0; i < affected.size(); i++) {
-                    affected.get(i).setIndentLevel(Math.max(0, oldIndents.get(i) - 1));
-                }
-            }
-
-            if (this.unindentedListener != null) this.unindentedListener.accept(item);
-            refreshParentList();
-        });
-        // Allow shift-click to remove this item and all its indented children
-        addMouseListener(new MouseAdapter() {
-            @Override
-            public void mouseClicked(MouseEvent e) {
-                if (e.isShiftDown() && e.getButton() == MouseEvent.BUTTON1) {
-                    // Delegate to the Remove action (which cascades children and notifies listeners)
-                    removeItem.doClick();
-                }
-            }
-        });
-        // Apply the same shift-click removal listener to all nested components
-        addShiftRemoveListenerRecursive(this);
-    }
-
-    public void refreshMenu()
-    {
-        super.refresh();
-        popupMenu.removeAll();
-        javax.swing.JMenu moveMenu = new javax.swing.JMenu("Move");
-        boolean hasMove = false;
-        if (!list.isFirst(item)) {
-            for (var l : moveUp.getActionListeners()) moveUp.removeActionListener(l);
-            moveUp.addActionListener(e -> {
-                int oldIndex = list.indexOf(item);
-                int newIndex = Math.max(0, oldIndex - 1);
-                list.moveUp(item);
-                if (history != null) {
-                    history.push(new ReorderTaskAction(list, item, oldIndex, newIndex));
-                }
-                refreshParentList();
-            });
-            moveMenu.add(moveUp);
-            hasMove = true;
-        }
-        if (!list.isLast(item)) {
-            for (var l : moveDown.getActionListeners()) moveDown.removeActionListener(l);
-            moveDown.addActionListener(e -> {
-                int oldIndex = list.indexOf(item);
-                int newIndex = Math.min(list.size() - 1, oldIndex + 1);
-                list.moveDown(item);
-                if (history != null) {
-                    history.push(new ReorderTaskAction(list, item, oldIndex, newIndex));
-                }
-                refreshParentList();
-            });
-            moveMenu.add(moveDown);
-            hasMove = true;
-        }
-        if (!list.isFirst(item)) {
-            for (var l : moveToTop.getActionListeners()) moveToTop.removeActionListener(l);
-            moveToTop.addActionListener(e -> {
-                int oldIndex = list.indexOf(item);
-                list.moveToTop(item);
-                if (history != null) {
-                    history.push(new ReorderTaskAction(list, item, oldIndex, 0));
-                }
-                refreshParentList();
-            });
-            moveMenu.add(moveToTop);
-            hasMove = true;
-        }
-        if (!list.isLast(item)) {
-            for (var l : moveToBottom.getActionListeners()) moveToBottom.removeActionListener(l);
-            moveToBottom.addActionListener(e -> {
-                int oldIndex = list.indexOf(item);
-                list.moveToBottom(item);
-                if (history != null) {
-                    history.push(new ReorderTaskAction(list, item, oldIndex, list.size() - 1));
-                }
-                refreshParentList();
-            });
-            moveMenu.add(moveToBottom);
-            hasMove = true;
-        }
-        if (hasMove) {
-            popupMenu.add(moveMenu);
-        }
-
-        var previousItem = list.getPreviousItem(item);
-
-        if (item.isNotFullyIndented() && previousItem != null && previousItem.getIndentLevel() >= item.getIndentLevel()) {
-            popupMenu.add(indentItem);
-        }
-
-        if (item.isIndented()) {
-            popupMenu.add(unindentItem);
-        }
-
-        String toggleLabel = "Mark as " + (item.getStatus() == Status.COMPLETED ? "Incomplete" : "Completed");
-        JMenuItem toggleStatusItem = new JMenuItem(toggleLabel);
-        toggleStatusItem.addActionListener(e -> {
-            // Determine new status for the root item
-            Status newStatus = (item.getStatus() == Status.COMPLETED ? Status.NOT_STARTED : Status.COMPLETED);
-
-            // Collect affected tasks (item + descendants until sibling/parent) and their old statuses
-            java.util.List<Task> affected = new java.util.ArrayList<>();
-            java.util.List<Status> oldStatuses = new java.util.ArrayList<>();
-
-            int index = list.indexOf(item);
-            int baseIndent = item.getIndentLevel();
-            affected.add(item);
-            oldStatuses.add(item.getStatus());
-            for (int i = index + 1; i < list.size(); i++) {
-                Task child = list.get(i);
-                if (child.getIndentLevel() <= baseIndent) break;
-                affected.add(child);
-                oldStatuses.add(child.getStatus());
-            }
-
-            ActionHistory.Action act = new ActionHistory.Action() {
-                @Override public void undo() {
-                    for (int i = 0; i < affected.size(); i++) {
-                        affected.get(i).setStatus(oldStatuses.get(i));
-                    }
-                }
-                @Override public void redo() {
-                    for (Task t : affected) {
-                        t.setStatus(newStatus);
-                    }
-                }
-            };
-
-            if (history != null) {
-                act.redo();          // apply change now
-                history.push(act);   // record for undo/redo
-            } else {
-                // Fallback if no history injected
-                for (Task t : affected) {
-                    t.setStatus(newStatus);
-                }
-            }
-
-            if (taskContent != null) {
-                taskContent.refresh();
-            }
-            refreshParentList();
-        });
-        popupMenu.add(toggleStatusItem);
-
-        // Add quest pre-reqs menu item only if the quest actually has prereqs
-        if (item instanceof QuestTask) {
-            QuestTask questTask = (QuestTask) item;
-            int baseIndent = item.getIndentLevel();
-            // Gather existing direct/descendant children under this quest to avoid duplicates
-            java.util.Set<String> existingKeys = new java.util.HashSet<>();
-            int parentIndex = list.indexOf(item);
-            for (int i = parentIndex + 1; i < list.size(); i++) {
-                var child = list.get(i);
-                if (child.getIndentLevel() <= baseIndent) {
-                    break; // stop at siblings/parents
-                }
-                existingKeys.add(child.getClass().getName() + "|" + child.toString());
-            }
-            var rawPrereqs = QuestRequirements.getRequirements(questTask.getQuest(), baseIndent + 1);
-            java.util.List<Task> missingPrereqs = new java.util.ArrayList<>();
-            if (rawPrereqs != null) {
-                for (Task p : rawPrereqs) {
-                    String key = p.getClass().getName() + "|" + p.toString();
-                    if (!existingKeys.contains(key)) {
-                        missingPrereqs.add(p);
-                    }
-                }
-            }
-            if (!missingPrereqs.isEmpty()) {
-                JMenuItem prereqItem = new JMenuItem("Add pre-reqs");
-                prereqItem.addActionListener(e -> {
-                    // Recompute and filter again at click time
-                    var raw = QuestRequirements.getRequirements(questTask.getQuest(), baseIndent + 1);
-                    if (raw != null) {
-                        // Refresh existing keys in case the list changed since menu was built
-                        java.util.Set<String> currentKeys = new java.util.HashSet<>();
-                        int pIndex = list.indexOf(item);
-                        for (int i = pIndex + 1; i < list.size(); i++) {
-                            var child = list.get(i);
-                            if (child.getIndentLevel() <= baseIndent) break;
-                            currentKeys.add(child.getClass().getName() + "|" + child.toString());
-                        }
-                        java.util.List<Task> filtered = new java.util.ArrayList<>();
-                        for (Task t : raw) {
-                            String key = t.getClass().getName() + "|" + t.toString();
-                            if (!currentKeys.contains(key)) {
-                                filtered.add(t);
-                            }
-                        }
-                        if (!filtered.isEmpty()) {
-                            int index = list.indexOf(item);
-                            for (Task prereq : filtered) {
-                                list.add(index + 1, prereq);
-                                index++;
-                            }
-                            refreshParentList();
-                        }
-                    }
-                });
-                popupMenu.add(prereqItem);
-            }
-        }
-
-        // Make the Remove action also delete all indented children of this item
-        for (var l : removeItem.getActionListeners()) {
-            removeItem.removeActionListener(l);
-        }
-        removeItem.addActionListener(e -> {
-            int removedIndex = list.indexOf(item);
-            int baseIndent = item.getIndentLevel();
-            // Remove all children more indented than this item
-            while (removedIndex + 1 < list.size() && list.get(removedIndex + 1).getIndentLevel() > baseIndent) {
-                list.remove(list.get(removedIndex + 1));
-            }
-            // Remove the item itself
-            list.remove(item);
-            // Notify listeners for Undo/Redo support
-            if (this.removedWithIndexListener != null) this.removedWithIndexListener.accept(item, removedIndex);
-            if (this.removedListener != null) this.removedListener.accept(item);
-            // Refresh UI
-            refreshParentList();
-        });
-
-        removeItem.setText("<html>Remove <span style='font-size: smaller; color: gray;'>(Shift+Left Click)</span></html>");
-        popupMenu.add(removeItem);
     }
 
     public void onIndented(Consumer<Task> indentedListener) {
@@ -376,186 +47,150 @@ public final class ListTaskPanel extends ListItemPanel<Task>
 
     public void setTaskContent(TaskItemContent taskContent) {
         this.taskContent = taskContent;
-        if (taskContent != null) {
-            addShiftRemoveListenerRecursive(taskContent);
-        }
+    }
+
+    /**
+     * Shift + left click removes this item and all its indented children.
+     */
+    @Override
+    protected void shiftClicked()
+    {
+        removeFromList();
     }
 
     public void setActionHistory(ActionHistory history) {
         this.history = history;
     }
 
+    public void setTaskIndex(TaskIndex taskIndex) {
+        this.taskIndex = taskIndex;
+    }
+
     /**
-     * Appends Task-specific context menu items.
+     * Task menu: moves recorded in ActionHistory, indent, status toggle, quest pre-reqs and
+     * a Remove that also deletes indented children.
      */
     @Override
-    protected void buildAdditionalMenu()
+    protected void addMenuItems(JPopupMenu menu)
     {
-        javax.swing.JMenu moveMenu = new javax.swing.JMenu("Move");
-        boolean hasMove = false;
-        // Rewire generic move actions to include ActionHistory entries
+        JMenu moveMenu = new JMenu("Move");
         if (!list.isFirst(item)) {
-            for (var l : moveUp.getActionListeners()) moveUp.removeActionListener(l);
-            moveUp.addActionListener(e -> {
-                int oldIndex = list.indexOf(item);
-                int newIndex = Math.max(0, oldIndex - 1);
-                list.moveUp(item);
-                if (history != null) {
-                    history.push(new ReorderTaskAction(list, item, oldIndex, newIndex));
-                }
-                refreshParentList();
-            });
-            moveMenu.add(moveUp);
-            hasMove = true;
+            moveMenu.add(menuItem("Move up", () -> move(list::moveUp)));
         }
         if (!list.isLast(item)) {
-            for (var l : moveDown.getActionListeners()) moveDown.removeActionListener(l);
-            moveDown.addActionListener(e -> {
-                int oldIndex = list.indexOf(item);
-                int newIndex = Math.min(list.size() - 1, oldIndex + 1);
-                list.moveDown(item);
-                if (history != null) {
-                    history.push(new ReorderTaskAction(list, item, oldIndex, newIndex));
-                }
-                refreshParentList();
-            });
-            moveMenu.add(moveDown);
-            hasMove = true;
+            moveMenu.add(menuItem("Move down", () -> move(list::moveDown)));
         }
         if (!list.isFirst(item)) {
-            for (var l : moveToTop.getActionListeners()) moveToTop.removeActionListener(l);
-            moveToTop.addActionListener(e -> {
-                int oldIndex = list.indexOf(item);
-                list.moveToTop(item);
-                if (history != null) {
-                    history.push(new ReorderTaskAction(list, item, oldIndex, 0));
-                }
-                refreshParentList();
-            });
-            moveMenu.add(moveToTop);
-            hasMove = true;
+            moveMenu.add(menuItem("Move to top", () -> move(list::moveToTop)));
         }
         if (!list.isLast(item)) {
-            for (var l : moveToBottom.getActionListeners()) moveToBottom.removeActionListener(l);
-            moveToBottom.addActionListener(e -> {
-                int oldIndex = list.indexOf(item);
-                list.moveToBottom(item);
-                if (history != null) {
-                    history.push(new ReorderTaskAction(list, item, oldIndex, list.size() - 1));
-                }
-                refreshParentList();
-            });
-            moveMenu.add(moveToBottom);
-            hasMove = true;
+            moveMenu.add(menuItem("Move to bottom", () -> move(list::moveToBottom)));
         }
-        if (hasMove) {
-            popupMenu.add(moveMenu);
+        if (moveMenu.getMenuComponentCount() > 0) {
+            menu.add(moveMenu);
         }
 
         // Indent / Unindent
         var previousItem = list.getPreviousItem(item);
         if (item.isNotFullyIndented() && previousItem != null && previousItem.getIndentLevel() >= item.getIndentLevel()) {
-            popupMenu.add(indentItem);
+            menu.add(menuItem("Indent", () -> {
+                shiftIndent(1);
+                if (this.indentedListener != null) this.indentedListener.accept(item);
+                refreshParentList();
+            }));
         }
         if (item.isIndented()) {
-            popupMenu.add(unindentItem);
+            menu.add(menuItem("Unindent", () -> {
+                shiftIndent(-1);
+                if (this.unindentedListener != null) this.unindentedListener.accept(item);
+                refreshParentList();
+            }));
         }
 
         // Toggle Completed/Incomplete for this task and its descendants
         String toggleLabel = "Mark as " + (item.getStatus() == Status.COMPLETED ? "Incomplete" : "Completed");
-        JMenuItem toggleStatusItem = new JMenuItem(toggleLabel);
-        toggleStatusItem.addActionListener(e -> {
-            Status newStatus = (item.getStatus() == Status.COMPLETED ? Status.NOT_STARTED : Status.COMPLETED);
-            java.util.List<Task> affected = new java.util.ArrayList<>();
-            java.util.List<Status> oldStatuses = new java.util.ArrayList<>();
-            int index = list.indexOf(item);
-            int baseIndent = item.getIndentLevel();
-            affected.add(item);
-            oldStatuses.add(item.getStatus());
-            for (int i = index + 1; i < list.size(); i++) {
-                Task child = list.get(i);
-                if (child.getIndentLevel() <= baseIndent) break;
-                affected.add(child);
-                oldStatuses.add(child.getStatus());
-            }
-            ActionHistory.Action act = new ActionHistory.Action() {
-                @Override public void undo() { for (int i = 0; i < affected.size(); i++) affected.get(i).setStatus(oldStatuses.get(i)); }
-                @Override public void redo() { for (Task t : affected) t.setStatus(newStatus); }
-            };
-            if (history != null) { act.redo(); history.push(act); }
-            else { for (Task t : affected) t.setStatus(newStatus); }
-            if (taskContent != null) taskContent.refresh();
-            refreshParentList();
-        });
-        popupMenu.add(toggleStatusItem);
+        menu.add(menuItem(toggleLabel, this::toggleStatus));
 
-        // Quest pre-reqs (if available)
-        if (item instanceof QuestTask) {
-            QuestTask questTask = (QuestTask) item;
-            int baseIndent = item.getIndentLevel();
-            java.util.Set<String> existingKeys = new java.util.HashSet<>();
-            int parentIndex = list.indexOf(item);
-            for (int i = parentIndex + 1; i < list.size(); i++) {
-                var child = list.get(i);
-                if (child.getIndentLevel() <= baseIndent) break;
-                existingKeys.add(child.getClass().getName() + "|" + child.toString());
-            }
-            var rawPrereqs = QuestRequirements.getRequirements(questTask.getQuest(), baseIndent + 1);
-            java.util.List<Task> missingPrereqs = new java.util.ArrayList<>();
-            if (rawPrereqs != null) {
-                for (Task p : rawPrereqs) {
-                    String key = p.getClass().getName() + "|" + p.toString();
-                    if (!existingKeys.contains(key)) missingPrereqs.add(p);
+        // Add quest pre-reqs menu item only if some prereqs are not already listed beneath it
+        if (item instanceof QuestTask && hasMissingPrereqs(taskIndex(), (QuestTask) item)) {
+            menu.add(menuItem("Add pre-reqs", () -> {
+                // Filters against the list as it is at click time
+                addPrereqsForTask(list, taskIndex(), item);
+                refreshParentList();
+            }));
+        }
+
+        menu.add(menuItem("<html>Remove <span style='font-size: smaller; color: gray;'>(Shift+Left Click)</span></html>", this::removeFromList));
+    }
+
+    /**
+     * Remove the item and all children more indented than it in one range removal.
+     */
+    @Override
+    protected void removeFromList()
+    {
+        TaskIndex index = taskIndex();
+        int removedIndex = index.indexOf(item);
+        if (removedIndex < 0) return;
+        list.subList(removedIndex, index.getSubtreeEnd(item) + 1).clear();
+        // Notify listeners for Undo/Redo support
+        if (this.removedWithIndexListener != null) this.removedWithIndexListener.accept(item, removedIndex);
+        if (this.removedListener != null) this.removedListener.accept(item);
+        refreshParentList();
+    }
+
+    private void move(Consumer<Task> move)
+    {
+        int oldIndex = list.indexOf(item);
+        move.accept(item);
+        if (history != null) {
+            history.push(new ReorderTaskAction(list, item, oldIndex, list.indexOf(item)));
+        }
+        refreshParentList();
+    }
+
+    // Indent or unindent the item and its descendants (until sibling/parent) as one undoable action
+    private void shiftIndent(int delta)
+    {
+        java.util.List<Task> affected = new java.util.ArrayList<>(taskIndex().getSubtree(item));
+        java.util.List<Integer> oldIndents = new java.util.ArrayList<>(affected.size());
+        for (Task t : affected) {
+            oldIndents.add(t.getIndentLevel());
+        }
+
+        ActionHistory.Action act = new ActionHistory.Action() {
+            @Override public void undo() {
+                for (int i = 0; i < affected.size(); i++) {
+                    affected.get(i).setIndentLevel(oldIndents.get(i));
                 }
             }
-            if (!missingPrereqs.isEmpty()) {
-                JMenuItem prereqItem = new JMenuItem("Add pre-reqs");
-                prereqItem.addActionListener(e -> {
-                    var raw = QuestRequirements.getRequirements(questTask.getQuest(), baseIndent + 1);
-                    if (raw != null) {
-                        java.util.Set<String> currentKeys = new java.util.HashSet<>();
-                        int pIndex = list.indexOf(item);
-                        for (int i = pIndex + 1; i < list.size(); i++) {
-                            var child = list.get(i);
-                            if (child.getIndentLevel() <= baseIndent) break;
-                            currentKeys.add(child.getClass().getName() + "|" + child.toString());
-                        }
-                        java.util.List<Task> filtered = new java.util.ArrayList<>();
-                        for (Task t : raw) {
-                            String key = t.getClass().getName() + "|" + t.toString();
-                            if (!currentKeys.contains(key)) filtered.add(t);
-                        }
-                        if (!filtered.isEmpty()) {
-                            int insertIndex = list.indexOf(item);
-                            for (Task prereq : filtered) {
-                                list.add(insertIndex + 1, prereq);
-                                insertIndex++;
-                            }
-                            refreshParentList();
-                        }
-                    }
-                });
-                popupMenu.add(prereqItem);
+            @Override public void redo() {
+                for (int i = 0; i < affected.size(); i++) {
+                    affected.get(i).setIndentLevel(Math.max(0, oldIndents.get(i) + delta));
+                }
             }
+        };
+
+        act.redo();
+        if (history != null) {
+            history.push(act);
         }
+    }
 
-        // Rewire Remove to cascade children and update label
-        for (var l : removeItem.getActionListeners()) removeItem.removeActionListener(l);
-        removeItem.addActionListener(e -> {
-            int removedIndex = list.indexOf(item);
-            int baseIndent = item.getIndentLevel();
-            while (removedIndex + 1 < list.size() && list.get(removedIndex + 1).getIndentLevel() > baseIndent) {
-                list.remove(list.get(removedIndex + 1));
-            }
-            list.remove(item);
-            if (this.removedWithIndexListener != null) this.removedWithIndexListener.accept(item, removedIndex);
-            if (this.removedListener != null) this.removedListener.accept(item);
-            refreshParentList();
-        });
-        removeItem.setText("<html>Remove <span style='font-size: smaller; color: gray;'>(Shift+Left Click)</span></html>");
-        // Ensure remove is at the bottom: remove and re-add it
-        popupMenu.remove(removeItem);
-        popupMenu.add(removeItem);
+    private void toggleStatus()
+    {
+        Status newStatus = (item.getStatus() == Status.COMPLETED ? Status.NOT_STARTED : Status.COMPLETED);
+        java.util.List<Task> affected = new java.util.ArrayList<>(taskIndex().getSubtree(item));
+        java.util.List<Status> oldStatuses = new java.util.ArrayList<>(affected.size());
+        for (Task t : affected) oldStatuses.add(t.getStatus());
+        ActionHistory.Action act = new ActionHistory.Action() {
+            @Override public void undo() { for (int i = 0; i < affected.size(); i++) affected.get(i).setStatus(oldStatuses.get(i)); }
+            @Override public void redo() { for (Task t : affected) t.setStatus(newStatus); }
+        };
+        act.redo();
+        if (history != null) history.push(act);
+        if (taskContent != null) taskContent.refresh();
+        refreshParentList();
     }
 
     private void refreshParentList()
@@ -576,44 +211,46 @@ public final class ListTaskPanel extends ListItemPanel<Task>
      */
     public static void addPrereqsForTask(ReorderableList<Task> list, Task item)
     {
-        if (!(item instanceof QuestTask)) {
-            return;
-        }
-        QuestTask questTask = (QuestTask) item;
-        int baseIndent = item.getIndentLevel();
-
-        // Gather existing children under this task to avoid duplicates
-        java.util.Set<String> existingKeys = new java.util.HashSet<>();
-        int parentIndex = list.indexOf(item);
-        for (int i = parentIndex + 1; i < list.size(); i++) {
-            Task child = list.get(i);
-            if (child.getIndentLevel() <= baseIndent) break;
-            existingKeys.add(child.getClass().getName() + "|" + child.toString());
-        }
+        addPrereqsForTask(list, new TaskIndex(list), item);
+    }
 
-        java.util.List<Task> raw = QuestRequirements.getRequirements(questTask.getQuest(), baseIndent + 1);
-        if (raw == null || raw.isEmpty()) {
+    private static void addPrereqsForTask(ReorderableList<Task> list, TaskIndex index, Task item)
+    {
+        if (!(item instanceof QuestTask)) {
             return;
         }
 
         // Filter out any already-present entries
-        java.util.List<Task> filtered = new java.util.ArrayList<>();
-        for (Task t : raw) {
-            String key = t.getClass().getName() + "|" + t.toString();
-            if (!existingKeys.contains(key)) {
-                filtered.add(t);
-            }
-        }
-
+        java.util.List<Task> filtered = AddPrereqsAction.missingPrereqs(index, (QuestTask) item);
         if (filtered.isEmpty()) {
             return;
         }
 
         // Insert directly after the parent item, preserving order from QuestRequirements
-        int insertIndex = list.indexOf(item);
-        for (Task prereq : filtered) {
-            list.add(insertIndex + 1, prereq);
-            insertIndex++;
+        list.addAll(index.indexOf(item) + 1, filtered);
+    }
+
+    /**
+     * Whether any of the quest's prerequisites is missing from the tasks nested beneath it.
+     * Works on the shared requirement tree and the goal's key index, so opening a menu
+     * allocates no tasks or strings.
+     */
+    private static boolean hasMissingPrereqs(TaskIndex index, QuestTask item)
+    {
+        for (QuestRequirements.Requirement requirement : QuestRequirements.getRequirementTree(item.getQuest())) {
+            if (!index.containsUnder(item, requirement.getKey())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // The goal's shared index when set, otherwise one for this list
+    private TaskIndex taskIndex()
+    {
+        if (taskIndex == null || !taskIndex.isFor(list)) {
+            taskIndex = new TaskIndex(list);
         }
+        return taskIndex;
     }
 }
@@ -0,0 +1,28 @@
+package com.ahdoozy.goaltrackerv2.ui.components;
+
+import java.awt.Component;
+import javax.swing.JPopupMenu;
+
+/**
+ * Content of a {@link ListItemPanel} row. Rows register no mouse listeners of their own;
+ * the owning {@link ListPanel} hit-tests mouse events and passes them down here.
+ * Tooltips are read from the {@code JComponent.TOOL_TIP_TEXT_KEY} client property of the
+ * component under the pointer.
+ */
+public interface RowContent
+{
+    /**
+     * A plain left click on {@code target}, which is this content or one of its descendants.
+     */
+    default void rowClicked(Component target)
+    {
+    }
+
+    /**
+     * Called just before the row's context menu is shown, to add items for this content.
+     * The list's menu is rebuilt on every open, so added items need no cleanup.
+     */
+    default void contextMenuOpening(JPopupMenu menu)
+    {
+    }
+}
@@ -0,0 +1,90 @@
+package com.ahdoozy.goaltrackerv2.utils;
+
+import lombok.Value;
+
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Shortens titles with a trailing ellipsis to fit a pixel width. Results are cached by
+ * text, font and width, so resizing a long list only measures each distinct title once
+ * per width. Swing thread only.
+ */
+public final class Ellipsis
+{
+    static final int MAX_CACHED = 2048;
+    private static final String ELLIPSIS = "…";
+
+    private static final Map<Key, String> CACHE = new LinkedHashMap<Key, String>(256, 0.75f, true)
+    {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, String> eldest)
+        {
+            return size() > MAX_CACHED;
+        }
+    };
+
+    private Ellipsis()
+    {
+    }
+
+    /**
+     * The longest prefix of {@code text} that fits {@code width} pixels followed by an
+     * ellipsis, or {@code text} itself if it already fits.
+     */
+    public static String fit(String text, FontMetrics fm, int width)
+    {
+        if (text == null || text.isEmpty())
+        {
+            return "";
+        }
+        final Key key = new Key(text, fm.getFont(), width);
+        String fitted = CACHE.get(key);
+        if (fitted == null)
+        {
+            fitted = measure(text, fm, width);
+            CACHE.put(key, fitted);
+        }
+        return fitted;
+    }
+
+    static int cachedCount()
+    {
+        return CACHE.size();
+    }
+
+    private static String measure(String text, FontMetrics fm, int width)
+    {
+        if (fm.stringWidth(text) <= width)
+        {
+            return text;
+        }
+        // Binary search for the longest prefix that fits alongside the ellipsis
+        int lo = 0, hi = text.length();
+        int cut = 0;
+        while (lo <= hi)
+        {
+            int mid = (lo + hi) >>> 1;
+            if (fm.stringWidth(text.substring(0, mid) + ELLIPSIS) <= width)
+            {
+                cut = mid;
+                lo = mid + 1;
+            }
+            else
+            {
+                hi = mid - 1;
+            }
+        }
+        return text.substring(0, cut) + ELLIPSIS;
+    }
+
+    @Value
+    private static class Key
+    {
+        String text;
+        Font font;
+        int width;
+    }
+}
@@ -12,6 +12,32 @@ import java.util.List;
  */
 public final class ReorderableList<T> extends ArrayList<T>
 {
+    // Element replacements, which ArrayList does not count as modifications
+    private transient int replacements;
+
+    /**
+     * Changes whenever elements are added, removed, replaced or reordered,
+     * so derived indexes can tell when they are stale.
+     */
+    public int getVersion()
+    {
+        return modCount + replacements;
+    }
+
+    @Override
+    public T set(int index, T element)
+    {
+        replacements++;
+        return super.set(index, element);
+    }
+
+    /** Replace the whole contents, e.g. to apply or revert a batch edit. */
+    public void replaceWith(List<T> items)
+    {
+        clear();
+        addAll(items);
+    }
+
     private void move(T item, int offset) {
         int i = this.indexOf(item);
 
@@ -0,0 +1,26 @@
+package com.ahdoozy.goaltrackerv2;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GoalArchiveTest {
+    @Test
+    public void encode_should_round_trip_and_compress() throws IOException {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 50; i++) {
+            json.append(i == 0 ? "" : ",")
+                .append("{\"description\":\"Quest cape ").append(i)
+                .append("\",\"items\":[{\"type\":\"manual\",\"description\":\"Ünïcode task\",\"status\":\"completed\"}]}");
+        }
+        json.append("]");
+
+        String blob = GoalArchive.encode(json.toString());
+
+        assertEquals(json.toString(), GoalArchive.decode(blob));
+        assertTrue(blob.length() < json.length() / 4);
+    }
+}
@@ -0,0 +1,124 @@
+package com.ahdoozy.goaltrackerv2;
+
+import com.ahdoozy.goaltrackerv2.models.Goal;
+import com.ahdoozy.goaltrackerv2.models.enums.Status;
+import com.ahdoozy.goaltrackerv2.models.task.ManualTask;
+import com.ahdoozy.goaltrackerv2.models.task.Task;
+import com.ahdoozy.goaltrackerv2.utils.ReorderableList;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import net.runelite.client.config.ConfigManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+public class GoalManagerTest {
+    private final Map<String, String> stored = new HashMap<>();
+
+    @Mock
+    private ConfigManager configManager;
+
+    @Mock
+    private ScheduledExecutorService executor;
+
+    private GoalManager goalManager;
+
+    @BeforeEach
+    public void setUp() {
+        lenient().when(configManager.getRSProfileKey()).thenReturn("rsprofile.test");
+        lenient().when(configManager.getRSProfileConfiguration(eq("goaltracker"), anyString()))
+            .thenAnswer(invocation -> stored.get(invocation.<String>getArgument(1)));
+        lenient().doAnswer(invocation -> stored.put(invocation.getArgument(1), invocation.getArgument(2)))
+            .when(configManager).setRSProfileConfiguration(eq("goaltracker"), anyString(), any());
+
+        Injector injector = Guice.createInjector(binder -> {
+            binder.bind(ConfigManager.class).toInstance(configManager);
+            binder.bind(ScheduledExecutorService.class).toInstance(executor);
+        });
+        injector.getInstance(ProfileStore.class).switchToCurrent();
+        goalManager = injector.getInstance(GoalManager.class);
+    }
+
+    @Test
+    public void importJson_should_replace_the_archive_instead_of_duplicating_it() {
+        goalManager.addGoals(List.of(goal("Active", Status.NOT_STARTED), goal("Done", Status.COMPLETED)));
+        goalManager.load();
+        assertEquals(1, goalManager.getGoals().size());
+        assertEquals(1, goalManager.getArchivedGoals().size());
+
+        for (int i = 0; i < 3; i++) {
+            goalManager.importJson(goalManager.exportJson(false));
+            goalManager.load();
+        }
+
+        assertEquals(1, goalManager.getGoals().size());
+        assertEquals("Active", goalManager.getGoals().get(0).getDescription());
+        List<Goal> archived = goalManager.getArchivedGoals();
+        assertEquals(1, archived.size());
+        assertEquals("Done", archived.get(0).getDescription());
+    }
+
+    @Test
+    public void restoreGoal_should_keep_the_goal_live_across_loads() {
+        goalManager.addGoals(List.of(goal("Done", Status.COMPLETED)));
+        goalManager.load();
+        assertTrue(goalManager.getGoals().isEmpty());
+
+        List<Goal> archived = goalManager.getArchivedGoals();
+        goalManager.restoreGoal(archived, archived.get(0));
+        goalManager.load();
+
+        assertEquals(1, goalManager.getGoals().size());
+        assertEquals("Done", goalManager.getGoals().get(0).getDescription());
+        assertFalse(goalManager.hasArchivedGoals());
+
+        // Once it has work again and is completed again, it is archived as usual
+        Goal restored = goalManager.getGoals().get(0);
+        restored.getTasks().add(ManualTask.builder().description("More").build());
+        goalManager.archiveCompleted();
+        restored.setAllTasksCompleted(true);
+        goalManager.save();
+        goalManager.load();
+
+        assertTrue(goalManager.getGoals().isEmpty());
+        assertEquals(1, goalManager.getArchivedGoals().size());
+    }
+
+    @Test
+    public void save_should_keep_deferred_tasks_deferred() {
+        goalManager.addGoals(List.of(goal("First", Status.NOT_STARTED), goal("Second", Status.IN_PROGRESS)));
+        goalManager.load();
+        Goal first = goalManager.getGoals().get(0);
+        assertFalse(first.isLoaded());
+
+        first.setPinned(true);
+        goalManager.save();
+
+        assertFalse(first.isLoaded(), "saving writes deferred tasks back without loading them");
+        goalManager.load();
+        Goal reloaded = goalManager.getGoals().get(0);
+        assertTrue(reloaded.isPinned());
+        assertEquals("First", ((ManualTask) reloaded.getTasks().get(0)).getDescription());
+        assertEquals(Status.IN_PROGRESS, goalManager.getGoals().get(1).getTasks().get(0).getStatus());
+    }
+
+    private static Goal goal(String description, Status status) {
+        Task task = ManualTask.builder().description(description).status(status).build();
+        return Goal.builder().description(description).tasks(ReorderableList.from(task)).build();
+    }
+}
@@ -0,0 +1,115 @@
+package com.ahdoozy.goaltrackerv2;
+
+import net.runelite.client.config.ConfigManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+public class ProfileStoreTest {
+    // Plain keys, and per-profile keys as "<profile>|<key>"
+    private final Map<String, String> stored = new HashMap<>();
+    private String rsProfile;
+
+    @Mock
+    private ConfigManager configManager;
+
+    @InjectMocks
+    private ProfileStore profileStore;
+
+    @BeforeEach
+    public void setUp() {
+        lenient().when(configManager.getRSProfileKey()).thenAnswer(invocation -> rsProfile);
+        lenient().when(configManager.getConfiguration(eq("goaltracker"), anyString()))
+            .thenAnswer(invocation -> stored.get(invocation.<String>getArgument(1)));
+        lenient().doAnswer(invocation -> stored.put(invocation.getArgument(1), invocation.getArgument(2)))
+            .when(configManager).setConfiguration(eq("goaltracker"), anyString(), anyString());
+        lenient().doAnswer(invocation -> stored.remove(invocation.<String>getArgument(1)))
+            .when(configManager).unsetConfiguration(eq("goaltracker"), anyString());
+        lenient().when(configManager.getRSProfileConfiguration(eq("goaltracker"), anyString()))
+            .thenAnswer(invocation -> stored.get(rsProfile + "|" + invocation.getArgument(1)));
+        lenient().doAnswer(invocation -> stored.put(rsProfile + "|" + invocation.getArgument(1), invocation.getArgument(2)))
+            .when(configManager).setRSProfileConfiguration(eq("goaltracker"), anyString(), any());
+        lenient().when(configManager.getConfiguration(eq("goaltracker"), anyString(), anyString()))
+            .thenAnswer(invocation -> stored.get(invocation.getArgument(1) + "|" + invocation.getArgument(2)));
+        lenient().doAnswer(invocation -> stored.put(invocation.getArgument(1) + "|" + invocation.getArgument(2), invocation.getArgument(3)))
+            .when(configManager).setConfiguration(eq("goaltracker"), anyString(), anyString(), anyString());
+    }
+
+    @Test
+    public void switchToCurrent_should_follow_the_runescape_profile() {
+        rsProfile = "rsprofile.main";
+        assertTrue(profileStore.switchToCurrent());
+        profileStore.set(ProfileStore.GOALS_KEY, "[main]");
+        assertEquals("[main]", stored.get("rsprofile.main|" + ProfileStore.GOALS_KEY));
+
+        rsProfile = "rsprofile.alt";
+        assertTrue(profileStore.switchToCurrent());
+        assertEquals("", profileStore.get(ProfileStore.GOALS_KEY));
+        profileStore.set(ProfileStore.GOALS_KEY, "[alt]");
+
+        rsProfile = "rsprofile.main";
+        assertTrue(profileStore.switchToCurrent());
+        assertEquals("[main]", profileStore.get(ProfileStore.GOALS_KEY));
+        assertFalse(profileStore.switchToCurrent(), "already active");
+    }
+
+    @Test
+    public void switchTo_should_move_unscoped_data_to_the_first_account_only() {
+        stored.put(ProfileStore.GOALS_KEY, "[main]");
+        stored.put(ProfileStore.ARCHIVE_KEY, "archived");
+
+        rsProfile = "rsprofile.main";
+        assertTrue(profileStore.switchToCurrent());
+        assertEquals("[main]", profileStore.get(ProfileStore.GOALS_KEY));
+        assertEquals("archived", profileStore.get(ProfileStore.ARCHIVE_KEY));
+        assertFalse(stored.containsKey(ProfileStore.GOALS_KEY));
+        assertFalse(stored.containsKey(ProfileStore.ARCHIVE_KEY));
+
+        rsProfile = "rsprofile.alt";
+        assertTrue(profileStore.switchToCurrent());
+        assertEquals("", profileStore.get(ProfileStore.GOALS_KEY));
+        profileStore.set(ProfileStore.GOALS_KEY, "[alt]");
+
+        rsProfile = "rsprofile.main";
+        assertTrue(profileStore.switchToCurrent());
+        assertEquals("[main]", profileStore.get(ProfileStore.GOALS_KEY));
+        assertFalse(profileStore.switchToCurrent(), "already active");
+    }
+
+    @Test
+    public void switchToCurrent_should_keep_the_last_profile_before_login() {
+        assertFalse(profileStore.switchToCurrent(), "no profile known yet");
+        assertFalse(profileStore.isCurrent());
+        profileStore.set(ProfileStore.GOALS_KEY, "[first run]");
+        assertEquals("[first run]", stored.get(ProfileStore.GOALS_KEY), "kept unscoped until a profile is known");
+
+        rsProfile = "rsprofile.main";
+        assertTrue(profileStore.switchToCurrent());
+        assertTrue(profileStore.isCurrent());
+        assertEquals("[first run]", profileStore.get(ProfileStore.GOALS_KEY));
+        profileStore.set(ProfileStore.GOALS_KEY, "[main]");
+
+        // Logged out: the last profile stays active and is addressed by its key
+        rsProfile = null;
+        assertFalse(profileStore.switchToCurrent());
+        assertFalse(profileStore.isCurrent());
+        assertEquals("[main]", profileStore.get(ProfileStore.GOALS_KEY));
+        profileStore.set(ProfileStore.GOALS_KEY, "[edited]");
+        assertEquals("[edited]", stored.get("rsprofile.main|" + ProfileStore.GOALS_KEY));
+        assertFalse(stored.containsKey("null|" + ProfileStore.GOALS_KEY));
+    }
+}
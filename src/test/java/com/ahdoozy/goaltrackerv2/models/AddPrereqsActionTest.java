@@ -0,0 +1,55 @@
+package com.ahdoozy.goaltrackerv2.models;
+
+import com.ahdoozy.goaltrackerv2.models.task.QuestTask;
+import com.ahdoozy.goaltrackerv2.models.task.SkillLevelTask;
+import com.ahdoozy.goaltrackerv2.models.task.Task;
+import com.ahdoozy.goaltrackerv2.models.task.TaskKey;
+import com.ahdoozy.goaltrackerv2.utils.ReorderableList;
+import net.runelite.api.Quest;
+import net.runelite.api.Skill;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AddPrereqsActionTest {
+    private final QuestTask dragonSlayer = QuestTask.builder().quest(Quest.DRAGON_SLAYER_I).build();
+    private final SkillLevelTask attack = SkillLevelTask.builder().skill(Skill.ATTACK).level(32).indentLevel(1).build();
+    private final QuestTask lostCity = QuestTask.builder().quest(Quest.LOST_CITY).build();
+    private final ReorderableList<Task> tasks = ReorderableList.from(dragonSlayer, attack, lostCity);
+    private final TaskIndex index = new TaskIndex(tasks);
+
+    @Test
+    void forAllQuests_shouldInsertOnlyMissingPrereqsBeneathEachQuest() {
+        AddPrereqsAction action = AddPrereqsAction.forAllQuests(tasks, index);
+        assertNotNull(action);
+        assertEquals(3, tasks.size(), "nothing is applied until redo");
+
+        action.redo();
+
+        assertEquals(3, action.getAdded());
+        assertEquals(TaskKey.quest(Quest.PRIEST_IN_PERIL), tasks.get(1).getKey());
+        assertEquals(1, tasks.get(1).getIndentLevel());
+        assertSame(attack, tasks.get(2));
+        assertSame(lostCity, tasks.get(3));
+        assertEquals(TaskKey.skillLevel(Skill.CRAFTING, 31), tasks.get(4).getKey());
+        assertEquals(TaskKey.skillLevel(Skill.WOODCUTTING, 36), tasks.get(5).getKey());
+        assertNull(AddPrereqsAction.forAllQuests(tasks, index), "all pre-reqs are already present");
+    }
+
+    @Test
+    void undoRedo_shouldSwapTheWholeBatch() {
+        AddPrereqsAction action = AddPrereqsAction.forAllQuests(tasks, index);
+        action.redo();
+        List<Task> expanded = new ArrayList<>(tasks);
+
+        action.undo();
+        assertEquals(Arrays.asList(dragonSlayer, attack, lostCity), tasks);
+
+        action.redo();
+        assertEquals(expanded, tasks);
+    }
+}
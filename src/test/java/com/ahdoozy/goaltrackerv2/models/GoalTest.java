@@ -2,10 +2,14 @@ package com.ahdoozy.goaltrackerv2.models;
 
 import com.ahdoozy.goaltrackerv2.utils.ReorderableList;
 import com.ahdoozy.goaltrackerv2.models.enums.Status;
+import com.ahdoozy.goaltrackerv2.models.enums.TaskType;
 import com.ahdoozy.goaltrackerv2.models.task.ItemTask;
 import com.ahdoozy.goaltrackerv2.models.task.ManualTask;
+import com.ahdoozy.goaltrackerv2.models.task.Task;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class GoalTest {
@@ -119,4 +123,72 @@ class GoalTest {
 
         assertEquals(1, goal.getComplete().size());
     }
-}
\ No newline at end of file
+
+    @Test
+    void hasIncomplete_shouldFollowTaskStatusAndListChanges() {
+        ItemTask item = ItemTask.builder().itemId(314).build();
+        Goal goal = Goal.builder().tasks(ReorderableList.from(
+                ManualTask.builder().status(Status.COMPLETED).build(),
+                item
+        )).build();
+
+        assertTrue(goal.hasIncomplete(TaskType.ITEM));
+        assertFalse(goal.hasIncomplete(TaskType.MANUAL));
+        assertEquals(1, goal.getIncompleteCount());
+
+        item.setStatus(Status.COMPLETED);
+        assertFalse(goal.hasIncomplete(TaskType.ITEM));
+        assertEquals(0, goal.getIncompleteCount());
+
+        goal.getTasks().add(ManualTask.builder().build());
+        assertTrue(goal.hasIncomplete(TaskType.MANUAL));
+        assertEquals(1, goal.getIncompleteCount());
+    }
+
+    @Test
+    void hasIncomplete_shouldFollowATaskMovedToAnotherGoal() {
+        ItemTask item = ItemTask.builder().itemId(314).build();
+        Goal first = Goal.builder().tasks(ReorderableList.from(item)).build();
+        Goal second = Goal.builder().tasks(ReorderableList.from(ManualTask.builder().status(Status.COMPLETED).build())).build();
+        assertEquals(1, first.getIncompleteCount());
+        assertEquals(0, second.getIncompleteCount());
+
+        first.getTasks().remove(item);
+        second.getTasks().add(item);
+        assertEquals(0, first.getIncompleteCount());
+        assertEquals(1, second.getIncompleteCount());
+
+        item.setStatus(Status.COMPLETED);
+        assertFalse(second.hasIncomplete(TaskType.ITEM));
+        assertEquals(0, second.getIncompleteCount());
+        assertEquals(0, first.getIncompleteCount());
+    }
+
+    @Test
+    void deferTasks_shouldServeCountsFromTheHeaderUntilTasksAreUsed() {
+        ReorderableList<Task> tasks = ReorderableList.from(
+                ManualTask.builder().status(Status.COMPLETED).build(),
+                ItemTask.builder().itemId(314).build()
+        );
+        GoalHeader header = GoalHeader.of(Goal.builder().tasks(tasks).build());
+        AtomicInteger loads = new AtomicInteger();
+
+        Goal goal = Goal.builder().build();
+        goal.deferTasks(header, () -> {
+            loads.incrementAndGet();
+            return tasks;
+        });
+
+        assertEquals(2, goal.getTaskCount());
+        assertEquals(1, goal.getCompletedCount());
+        assertTrue(goal.hasIncomplete(TaskType.ITEM));
+        assertEquals(Status.IN_PROGRESS, goal.getStatus());
+        assertFalse(goal.isLoaded());
+        assertEquals(0, loads.get());
+
+        assertSame(tasks, goal.getTasks());
+        assertSame(tasks, goal.getTasks());
+        assertTrue(goal.isLoaded());
+        assertEquals(1, loads.get());
+    }
+}
@@ -0,0 +1,101 @@
+package com.ahdoozy.goaltrackerv2.models;
+
+import com.ahdoozy.goaltrackerv2.models.task.ManualTask;
+import com.ahdoozy.goaltrackerv2.models.task.QuestTask;
+import com.ahdoozy.goaltrackerv2.models.task.SkillLevelTask;
+import com.ahdoozy.goaltrackerv2.models.task.Task;
+import com.ahdoozy.goaltrackerv2.models.task.TaskKey;
+import com.ahdoozy.goaltrackerv2.utils.ReorderableList;
+import net.runelite.api.Quest;
+import net.runelite.api.Skill;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskIndexTest {
+    private final QuestTask dragonSlayer = QuestTask.builder().quest(Quest.DRAGON_SLAYER_I).build();
+    private final QuestTask priestInPeril = QuestTask.builder().quest(Quest.PRIEST_IN_PERIL).indentLevel(1).build();
+    private final SkillLevelTask attack = SkillLevelTask.builder().skill(Skill.ATTACK).level(32).indentLevel(1).build();
+    private final QuestTask lostCity = QuestTask.builder().quest(Quest.LOST_CITY).build();
+    private final ReorderableList<Task> tasks = ReorderableList.from(dragonSlayer, priestInPeril, attack, lostCity);
+    private final Goal goal = Goal.builder().tasks(tasks).build();
+    private final TaskIndex index = goal.getTaskIndex();
+
+    @Test
+    void keys_shouldIgnoreStatusAndIndent() {
+        Task copy = QuestTask.builder().quest(Quest.PRIEST_IN_PERIL).indentLevel(3).build();
+
+        assertEquals(priestInPeril.getKey(), copy.getKey());
+        assertEquals(TaskKey.skillLevel(Skill.ATTACK, 32), attack.getKey());
+        assertNotEquals(TaskKey.skillLevel(Skill.ATTACK, 33), attack.getKey());
+    }
+
+    @Test
+    void containsUnder_shouldOnlyMatchTheParentsSubtree() {
+        assertTrue(index.containsUnder(dragonSlayer, TaskKey.quest(Quest.PRIEST_IN_PERIL)));
+        assertTrue(index.containsUnder(dragonSlayer, TaskKey.skillLevel(Skill.ATTACK, 32)));
+        assertFalse(index.containsUnder(dragonSlayer, TaskKey.quest(Quest.LOST_CITY)));
+        assertFalse(index.containsUnder(lostCity, TaskKey.quest(Quest.PRIEST_IN_PERIL)));
+        assertTrue(index.contains(TaskKey.quest(Quest.LOST_CITY)));
+    }
+
+    @Test
+    void index_shouldFollowListChanges() {
+        tasks.remove(priestInPeril);
+        assertFalse(index.containsUnder(dragonSlayer, TaskKey.quest(Quest.PRIEST_IN_PERIL)));
+
+        tasks.add(2, priestInPeril);
+        assertEquals(2, index.indexOf(priestInPeril));
+
+        tasks.moveToTop(lostCity);
+        assertEquals(0, index.indexOf(lostCity));
+        assertEquals(1, index.indexOf(dragonSlayer));
+
+        tasks.set(0, ManualTask.builder().description("Buy a rune pickaxe").build());
+        assertFalse(index.contains(TaskKey.quest(Quest.LOST_CITY)));
+        assertTrue(index.contains(TaskKey.manual("Buy a rune pickaxe")));
+    }
+
+    @Test
+    void tree_shouldFollowIndentLevels() {
+        assertNull(index.getParent(dragonSlayer));
+        assertSame(dragonSlayer, index.getParent(attack));
+        assertEquals(2, index.getChildCount(dragonSlayer));
+        assertEquals(Arrays.asList(dragonSlayer, priestInPeril, attack), index.getSubtree(dragonSlayer));
+        assertEquals(Collections.singletonList(lostCity), index.getSubtree(lostCity));
+
+        attack.indent();
+        assertSame(priestInPeril, index.getParent(attack));
+        assertEquals(1, index.getChildCount(dragonSlayer));
+        assertEquals(2, index.getSubtreeEnd(priestInPeril));
+
+        attack.setIndentLevel(0);
+        assertNull(index.getParent(attack));
+        assertEquals(Arrays.asList(dragonSlayer, priestInPeril), index.getSubtree(dragonSlayer));
+    }
+
+    @Test
+    void tree_shouldFollowIndentsOfTasksAddedLater() {
+        ManualTask note = ManualTask.builder().description("Bring a cabbage").build();
+        tasks.add(note);
+        assertNull(index.getParent(note));
+
+        note.indent();
+        assertSame(lostCity, index.getParent(note));
+        assertEquals(Arrays.asList(lostCity, note), index.getSubtree(lostCity));
+    }
+
+    @Test
+    void standaloneIndex_shouldFollowIndentsOnceInvalidated() {
+        TaskIndex standalone = new TaskIndex(tasks);
+        assertSame(dragonSlayer, standalone.getParent(attack));
+
+        attack.indent();
+        standalone.invalidate();
+        assertSame(priestInPeril, standalone.getParent(attack));
+        assertSame(priestInPeril, index.getParent(attack));
+    }
+}
@@ -0,0 +1,94 @@
+package com.ahdoozy.goaltrackerv2.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkedPassTest {
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger completions = new AtomicInteger();
+
+    @Test
+    void getAsBoolean_shouldSplitWorkAcrossSlicesWhenTheBudgetIsExceeded() {
+        List<Integer> seen = new ArrayList<>();
+        // Every item costs 40ns against a 100ns budget, so each slice fits three items
+        ChunkedPass<Integer> pass = new ChunkedPass<>("test", Arrays.asList(1, 2, 3, 4, 5, 6, 7), item -> {
+            seen.add(item);
+            clock.addAndGet(40);
+        }, completions::incrementAndGet, 100, clock::get);
+
+        assertFalse(pass.getAsBoolean());
+        assertEquals(Arrays.asList(1, 2, 3), seen);
+        assertFalse(pass.getAsBoolean());
+        assertEquals(0, completions.get());
+        assertTrue(pass.getAsBoolean());
+
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7), seen);
+        assertEquals(3, pass.getSlices());
+        assertEquals(1, completions.get());
+    }
+
+    @Test
+    void getAsBoolean_shouldAlwaysMakeProgress() {
+        List<Integer> seen = new ArrayList<>();
+        ChunkedPass<Integer> pass = new ChunkedPass<>("test", Arrays.asList(1, 2), item -> {
+            seen.add(item);
+            clock.addAndGet(1_000);
+        }, completions::incrementAndGet, 100, clock::get);
+
+        assertFalse(pass.getAsBoolean());
+        assertEquals(Collections.singletonList(1), seen);
+        assertTrue(pass.getAsBoolean());
+        assertEquals(1, completions.get());
+    }
+
+    @Test
+    void getAsBoolean_shouldStopWithoutCompletingOnceCancelled() {
+        List<Integer> seen = new ArrayList<>();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        ChunkedPass<Integer> pass = new ChunkedPass<>("test", Arrays.asList(1, 2, 3), item -> {
+            seen.add(item);
+            clock.addAndGet(1_000);
+        }, completions::incrementAndGet, 100, clock::get, cancelled::get);
+
+        assertFalse(pass.getAsBoolean());
+        cancelled.set(true);
+
+        assertTrue(pass.getAsBoolean());
+        assertEquals(Collections.singletonList(1), seen);
+        assertEquals(0, completions.get());
+    }
+
+    @Test
+    void getAsBoolean_shouldCompleteEmptyPassesImmediately() {
+        ChunkedPass<Integer> pass = new ChunkedPass<>("test", Collections.emptyList(), item -> fail("no items"),
+                completions::incrementAndGet, 100, clock::get);
+
+        assertTrue(pass.getAsBoolean());
+        assertTrue(pass.isComplete());
+        assertEquals(1, completions.get());
+    }
+
+    @Test
+    void getAsBoolean_shouldContinuePastFailingItems() {
+        List<Integer> seen = new ArrayList<>();
+        ChunkedPass<Integer> pass = new ChunkedPass<>("test", Arrays.asList(1, 2, 3), item -> {
+            if (item == 2) {
+                throw new IllegalStateException("boom");
+            }
+            seen.add(item);
+        }, completions::incrementAndGet, 100, clock::get);
+
+        assertTrue(pass.getAsBoolean());
+        assertEquals(Arrays.asList(1, 3), seen);
+        assertEquals(1, completions.get());
+    }
+}
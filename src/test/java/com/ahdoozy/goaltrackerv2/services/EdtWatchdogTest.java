@@ -0,0 +1,55 @@
+package com.ahdoozy.goaltrackerv2.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EdtWatchdogTest {
+    private static StackTraceElement frame(String className, String method) {
+        return new StackTraceElement(className, method, null, -1);
+    }
+
+    @Test
+    void attribute_shouldUseOutermostPluginFrameAsEntryAndInnermostAsHot() {
+        StackTraceElement[] stack = {
+                frame("java.awt.image.BufferedImage", "getRGB"),
+                frame("com.ahdoozy.goaltrackerv2.services.TaskIconService", "iconify"),
+                frame("com.ahdoozy.goaltrackerv2.ui.components.ListPanel", "tryBuildList"),
+                frame("com.ahdoozy.goaltrackerv2.ui.GoalTrackerPanel$1", "lambda$home$0"),
+                frame("java.awt.EventDispatchThread", "run"),
+        };
+
+        String[] attribution = EdtWatchdog.attribute(stack);
+
+        assertEquals("ui.GoalTrackerPanel.lambda$home$0", attribution[0]);
+        assertEquals("services.TaskIconService.iconify", attribution[1]);
+    }
+
+    @Test
+    void attribute_shouldReportStallsOutsideThePlugin() {
+        StackTraceElement[] stack = {
+                frame("javax.swing.RepaintManager", "paintDirtyRegions"),
+                frame("java.awt.EventDispatchThread", "run"),
+        };
+
+        String[] attribution = EdtWatchdog.attribute(stack);
+
+        assertEquals(attribution[0], attribution[1]);
+        assertTrue(attribution[0].contains("outside"));
+    }
+
+    @Test
+    void formatRanking_shouldOrderComponentsBySamples() {
+        Map<String, EdtWatchdog.Attribution> attributions = new HashMap<>();
+        attributions.computeIfAbsent("ui.GoalPanel.refresh", k -> new EdtWatchdog.Attribution()).add("ui.TaskItemContent.refresh", 1);
+        attributions.computeIfAbsent("ui.GoalTrackerPanel.home", k -> new EdtWatchdog.Attribution()).add("services.TaskIconService.iconify", 3);
+
+        String ranking = EdtWatchdog.formatRanking(attributions);
+
+        assertTrue(ranking.indexOf("GoalTrackerPanel.home") < ranking.indexOf("GoalPanel.refresh"));
+        assertTrue(ranking.contains("(75%)"));
+    }
+}
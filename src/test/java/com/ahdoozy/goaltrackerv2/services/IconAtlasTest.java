@@ -0,0 +1,81 @@
+package com.ahdoozy.goaltrackerv2.services;
+
+import org.junit.jupiter.api.Test;
+
+import javax.swing.Icon;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IconAtlasTest {
+    private final IconAtlas atlas = new IconAtlas();
+
+    private static BufferedImage solid(int argb) {
+        BufferedImage image = new BufferedImage(32, 32, BufferedImage.TYPE_INT_ARGB);
+        for (int x = 0; x < 32; x++) {
+            for (int y = 0; y < 32; y++) {
+                image.setRGB(x, y, argb);
+            }
+        }
+        return image;
+    }
+
+    @Test
+    void add_shouldPaintEachIconFromItsOwnTile() {
+        Icon red = atlas.add(solid(0xFFFF0000));
+        Icon blue = atlas.add(solid(0xFF0000FF));
+
+        assertEquals(16, red.getIconWidth());
+        assertEquals(0xFFFF0000, atlas.copy(red).getRGB(8, 8));
+        assertEquals(0xFF0000FF, atlas.copy(blue).getRGB(8, 8));
+        assertEquals(1, atlas.getPageCount());
+    }
+
+    @Test
+    void release_shouldKeepReleasedIconsPaintableAndReuseTheirTile() {
+        Icon red = atlas.add(solid(0xFFFF0000));
+        atlas.release(red);
+        Icon green = atlas.add(solid(0xFF00FF00));
+
+        assertEquals(0xFFFF0000, atlas.copy(red).getRGB(8, 8), "a row still showing it paints a private copy");
+        assertEquals(0xFF00FF00, atlas.copy(green).getRGB(8, 8));
+        assertEquals(1, atlas.getLiveCount());
+    }
+
+    @Test
+    void release_shouldCompactTheLastPageOnceItsIconsFitEarlier() {
+        List<Icon> icons = new ArrayList<>();
+        for (int i = 0; i < IconAtlas.TILES_PER_PAGE + 2; i++) {
+            icons.add(atlas.add(solid(0xFF000000 | i)));
+        }
+        assertEquals(2, atlas.getPageCount());
+
+        atlas.release(icons.get(0));
+        assertEquals(2, atlas.getPageCount());
+        atlas.release(icons.get(1));
+
+        assertEquals(1, atlas.getPageCount());
+        Icon moved = icons.get(IconAtlas.TILES_PER_PAGE + 1);
+        assertEquals(0xFF000000 | (IconAtlas.TILES_PER_PAGE + 1), atlas.copy(moved).getRGB(8, 8));
+    }
+
+    @Test
+    void add_shouldCopyAReleasedIconOutOnlyWhenItsTileIsReused() {
+        List<Icon> icons = new ArrayList<>();
+        for (int i = 0; i < IconAtlas.TILES_PER_PAGE; i++) {
+            icons.add(atlas.add(solid(0xFF000000 | i)));
+        }
+        Icon released = icons.get(5);
+        atlas.release(released);
+        assertEquals(0xFF000005, atlas.copy(released).getRGB(8, 8));
+
+        Icon replacement = atlas.add(solid(0xFFFFFFFF));
+
+        assertEquals(1, atlas.getPageCount());
+        assertEquals(1, atlas.getPagesCreated());
+        assertEquals(0xFF000005, atlas.copy(released).getRGB(8, 8), "a row still showing it paints a private copy");
+        assertEquals(0xFFFFFFFF, atlas.copy(replacement).getRGB(8, 8));
+    }
+}
@@ -0,0 +1,96 @@
+package com.ahdoozy.goaltrackerv2.services;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.awt.image.BufferedImage;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IconDiskCacheTest {
+    @TempDir
+    File directory;
+
+    @Test
+    void flush_shouldPersistIconsForTheNextSession() {
+        BufferedImage icon = new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB);
+        icon.setRGB(3, 4, 0xFF112233);
+        icon.setRGB(15, 15, 0x80FFFFFF);
+
+        IconDiskCache cache = new IconDiskCache(directory);
+        cache.put(314, icon);
+        assertEquals(0xFF112233, cache.get(314).getRGB(3, 4), "unsaved icons are served from memory");
+        cache.flush();
+
+        BufferedImage more = new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB);
+        more.setRGB(0, 0, 0xFF0000FF);
+        cache.put(1511, more);
+        cache.flush();
+
+        IconDiskCache nextSession = new IconDiskCache(directory);
+        assertNull(nextSession.get(314), "files are only read by load()");
+        nextSession.load();
+        assertEquals(0xFF112233, nextSession.get(314).getRGB(3, 4));
+        assertEquals(0x80FFFFFF, nextSession.get(314).getRGB(15, 15));
+        assertEquals(0xFF0000FF, nextSession.get(1511).getRGB(0, 0));
+        assertNull(nextSession.get(995));
+    }
+
+    @Test
+    void load_shouldDiscardFilesOfAnotherFormat() throws IOException {
+        // Headerless index from before the format version was written
+        try (DataOutputStream index = new DataOutputStream(new FileOutputStream(new File(directory, "item-icons.idx")))) {
+            index.writeInt(314);
+            index.writeLong(0);
+        }
+        Files.write(new File(directory, "item-icons.atlas").toPath(), new byte[16 * 16 * 4]);
+
+        IconDiskCache cache = new IconDiskCache(directory);
+        cache.load();
+
+        assertNull(cache.get(314));
+        assertFalse(new File(directory, "item-icons.idx").exists());
+        assertFalse(new File(directory, "item-icons.atlas").exists());
+
+        cache.put(314, icon(0xFF00FF00));
+        cache.flush();
+        IconDiskCache nextSession = new IconDiskCache(directory);
+        nextSession.load();
+        assertEquals(0xFF00FF00, nextSession.get(314).getRGB(0, 0));
+    }
+
+    @Test
+    void load_shouldStartOverOnceTheAtlasOutgrowsItsCap() {
+        IconDiskCache cache = new IconDiskCache(directory);
+        for (int itemId = 1; itemId <= IconDiskCache.MAX_TILES + 1; itemId++) {
+            cache.put(itemId, icon(0xFF000000 | itemId));
+        }
+        cache.flush();
+        assertEquals(0xFF000001, cache.get(1).getRGB(0, 0), "the session that wrote them keeps using them");
+
+        IconDiskCache nextSession = new IconDiskCache(directory);
+        nextSession.load();
+
+        assertNull(nextSession.get(1));
+        assertFalse(new File(directory, "item-icons.atlas").exists());
+    }
+
+    @Test
+    void put_shouldIgnoreIconsThatAreNotScaled() {
+        IconDiskCache cache = new IconDiskCache(directory);
+        cache.put(314, new BufferedImage(36, 32, BufferedImage.TYPE_INT_ARGB));
+
+        assertNull(cache.get(314));
+    }
+
+    private static BufferedImage icon(int argb) {
+        BufferedImage icon = new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB);
+        icon.setRGB(0, 0, argb);
+        return icon;
+    }
+}
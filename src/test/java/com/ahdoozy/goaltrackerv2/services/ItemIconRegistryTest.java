@@ -0,0 +1,46 @@
+package com.ahdoozy.goaltrackerv2.services;
+
+import net.runelite.api.Client;
+import net.runelite.client.game.ItemManager;
+import net.runelite.client.util.AsyncBufferedImage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemIconRegistryTest {
+    @Mock
+    private ItemManager itemManager;
+
+    @Mock
+    private Client client;
+
+    @Mock
+    private AsyncBufferedImage image;
+
+    @InjectMocks
+    ItemIconRegistry registry;
+
+    @Test
+    void get_shouldShareOneImagePerItem() {
+        when(client.isClientThread()).thenReturn(true);
+        when(itemManager.getImage(314)).thenReturn(image);
+
+        assertSame(image, registry.get(314));
+        assertSame(image, registry.get(314));
+        verify(itemManager, times(1)).getImage(314);
+    }
+
+    @Test
+    void get_shouldOnlyRequestImagesOnTheClientThread() {
+        when(client.isClientThread()).thenReturn(false);
+
+        assertNull(registry.get(314));
+        verify(itemManager, never()).getImage(314);
+    }
+}
@@ -0,0 +1,56 @@
+package com.ahdoozy.goaltrackerv2.services;
+
+import com.google.gson.Gson;
+import net.runelite.api.Quest;
+import net.runelite.api.QuestState;
+import net.runelite.api.Skill;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlayerStateStoreTest {
+    private final Gson gson = new Gson();
+
+    @Test
+    void snapshot_shouldRoundTripThroughJson() {
+        Map<Skill, Integer> xp = new EnumMap<>(Skill.class);
+        xp.put(Skill.ATTACK, 13_034_431);
+        xp.put(Skill.COOKING, 0);
+        Map<Quest, QuestState> quests = new EnumMap<>(Quest.class);
+        quests.put(Quest.COOKS_ASSISTANT, QuestState.FINISHED);
+        quests.put(Quest.DRAGON_SLAYER_I, QuestState.IN_PROGRESS);
+        quests.put(Quest.MONKEY_MADNESS_I, QuestState.NOT_STARTED);
+        Map<Integer, Integer> items = new HashMap<>();
+        items.put(314, 75);
+        PlayerState original = PlayerState.restored(xp, quests, items);
+
+        PlayerStateStore.Snapshot snapshot = PlayerStateStore.Snapshot.capture(original, quests.keySet(),
+                Collections.singletonMap(314, "Feather"));
+        PlayerState restored = gson.fromJson(gson.toJson(snapshot), PlayerStateStore.Snapshot.class).toPlayerState();
+
+        assertEquals(13_034_431, restored.getXp(Skill.ATTACK));
+        assertEquals(99, restored.getLevel(Skill.ATTACK));
+        assertEquals(1, restored.getLevel(Skill.COOKING));
+        assertEquals(QuestState.FINISHED, restored.getQuestState(Quest.COOKS_ASSISTANT));
+        assertEquals(QuestState.IN_PROGRESS, restored.getQuestState(Quest.DRAGON_SLAYER_I));
+        assertEquals(QuestState.NOT_STARTED, restored.getQuestState(Quest.MONKEY_MADNESS_I));
+        assertEquals(75, restored.countHeld(314, "Feather"));
+    }
+
+    @Test
+    void snapshot_shouldReportUntrackedValuesAsUnknown() {
+        PlayerState restored = PlayerStateStore.Snapshot.capture(
+                PlayerState.restored(new EnumMap<>(Skill.class), new EnumMap<>(Quest.class), new HashMap<>()),
+                Arrays.asList(Quest.COOKS_ASSISTANT), Collections.emptyMap()).toPlayerState();
+
+        assertEquals(-1, restored.getXp(Skill.ATTACK));
+        assertNull(restored.getQuestState(Quest.COOKS_ASSISTANT));
+        assertEquals(-1, restored.countHeld(314, "Feather"));
+    }
+}
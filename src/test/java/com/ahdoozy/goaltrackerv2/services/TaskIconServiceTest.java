@@ -1,17 +1,18 @@
 package com.ahdoozy.goaltrackerv2.services;
 
+import com.ahdoozy.goaltrackerv2.TaskUIStatusManager;
 import com.ahdoozy.goaltrackerv2.models.enums.Status;
 import com.ahdoozy.goaltrackerv2.models.task.*;
 import com.ahdoozy.goaltrackerv2.models.task.*;
 import com.ahdoozy.goaltrackerv2.models.task.*;
-import net.runelite.api.Client;
 import net.runelite.api.Skill;
-import net.runelite.client.game.ItemManager;
+import net.runelite.client.callback.ClientThread;
 import net.runelite.client.game.SkillIconManager;
 import net.runelite.client.util.AsyncBufferedImage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -19,8 +20,13 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
 import javax.swing.*;
+import java.awt.image.BufferedImage;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
@@ -28,13 +34,16 @@ import static org.mockito.Mockito.*;
 @MockitoSettings(strictness = Strictness.LENIENT)
 class TaskIconServiceTest {
     @Mock
-    private ItemManager itemManager;
+    private ItemIconRegistry itemIconRegistry;
+
+    @Mock
+    private IconDiskCache iconDiskCache;
 
     @Mock
     private SkillIconManager skillIconManager;
 
     @Mock
-    private Client client;
+    private TaskUIStatusManager uiStatusManager;
 
     @InjectMocks
     TaskIconService service;
@@ -42,6 +51,8 @@ class TaskIconServiceTest {
     @Mock
     AsyncBufferedImage image;
 
+    private final BufferedImage skillImage = new BufferedImage(25, 25, BufferedImage.TYPE_INT_ARGB);
+
     @BeforeEach
     public void init() {
         when(image.getScaledInstance(anyInt(), anyInt(), anyInt())).thenReturn(image);
@@ -77,43 +88,120 @@ class TaskIconServiceTest {
 
     @Test
     void get_shouldSupportSkillLevelTasks() {
-        when(skillIconManager.getSkillImage(Skill.ATTACK)).thenReturn(image);
+        when(skillIconManager.getSkillImage(Skill.ATTACK)).thenReturn(skillImage);
 
         Task task = SkillLevelTask.builder().skill(Skill.ATTACK).build();
 
-        assertEquals(ImageIcon.class, service.get(task).getClass());
+        assertNotSame(TaskIconService.UNKNOWN_ICON, service.get(task));
         verify(skillIconManager).getSkillImage(Skill.ATTACK);
     }
 
     @Test
     void get_shouldSupportSkillXPTasks() {
-        when(skillIconManager.getSkillImage(Skill.ATTACK)).thenReturn(image);
+        when(skillIconManager.getSkillImage(Skill.ATTACK)).thenReturn(skillImage);
 
         Task task = SkillXpTask.builder().skill(Skill.ATTACK).build();
 
-        assertEquals(ImageIcon.class, service.get(task).getClass());
+        assertNotSame(TaskIconService.UNKNOWN_ICON, service.get(task));
         verify(skillIconManager).getSkillImage(Skill.ATTACK);
     }
 
     @Test
     void get_shouldSupportItemTasks() {
-        when(client.isClientThread()).thenReturn(true);
-        when(itemManager.getImage(314)).thenReturn(image);
+        when(itemIconRegistry.get(314)).thenReturn(image);
 
         Task task = ItemTask.builder().itemId(314).build();
 
         assertEquals(ImageIcon.class, service.get(task).getClass());
-        verify(itemManager).getImage(314);
+        verify(itemIconRegistry).get(314);
     }
 
     @Test
     void get_shouldSupportItemTasksNotBeingReady() {
-        when(client.isClientThread()).thenReturn(false);
-        when(itemManager.getImage(314)).thenReturn(image);
+        when(itemIconRegistry.get(314)).thenReturn(null);
 
         Task task = ItemTask.builder().itemId(314).build();
 
-        assertEquals(ImageIcon.class, service.get(task).getClass());
-        verify(itemManager, never()).getImage(314);
+        assertEquals(TaskIconService.UNKNOWN_ICON, service.get(task));
+    }
+
+    @Test
+    void get_shouldRefreshRowsShowingAnItemOnceItsIconLoads() {
+        // A real image, so the loaded callback can draw it into the atlas
+        AsyncBufferedImage loading = spy(new AsyncBufferedImage(mock(ClientThread.class), 32, 32, BufferedImage.TYPE_INT_ARGB));
+        doNothing().when(loading).onLoaded(any(Runnable.class));
+        when(itemIconRegistry.get(314)).thenReturn(loading);
+
+        assertSame(TaskIconService.UNKNOWN_ICON, service.get(ItemTask.builder().itemId(314).build()));
+        service.get(ItemTask.builder().itemId(314).build());
+
+        ArgumentCaptor<Runnable> loaded = ArgumentCaptor.forClass(Runnable.class);
+        verify(loading, times(1)).onLoaded(loaded.capture());
+        verify(uiStatusManager, never()).refreshItem(anyInt());
+
+        loaded.getValue().run();
+
+        verify(uiStatusManager).refreshItem(314);
+        assertNotSame(TaskIconService.UNKNOWN_ICON, service.get(ItemTask.builder().itemId(314).build()));
+    }
+
+    @Test
+    void get_shouldReuseScaledIconsAndEvictTheLeastRecentlyUsed() {
+        when(skillIconManager.getSkillImage(any(Skill.class))).thenReturn(skillImage);
+        service.setMaxIcons(2);
+        Task attack = SkillLevelTask.builder().skill(Skill.ATTACK).build();
+
+        Icon first = service.get(attack);
+        assertSame(first, service.get(SkillXpTask.builder().skill(Skill.ATTACK).build()));
+        assertEquals(16, first.getIconWidth());
+        assertEquals(1, service.getHits());
+        assertEquals(1, service.getMisses());
+
+        service.get(SkillLevelTask.builder().skill(Skill.DEFENCE).build());
+        service.get(attack);
+        service.get(SkillLevelTask.builder().skill(Skill.STRENGTH).build());
+
+        assertEquals(2, service.getCachedCount());
+        assertEquals(1, service.getEvictions());
+        assertSame(first, service.get(attack), "attack was used more recently than defence");
+        verify(skillIconManager, times(1)).getSkillImage(Skill.ATTACK);
+    }
+
+    @Test
+    void get_shouldReuseTheAtlasPageOnceTheCacheIsFull() {
+        when(iconDiskCache.get(anyInt())).thenReturn(new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB));
+
+        for (int itemId = 1; itemId <= TaskIconService.MAX_CACHED_ICONS + 50; itemId++) {
+            service.get(ItemTask.builder().itemId(itemId).build());
+        }
+
+        assertEquals(TaskIconService.MAX_CACHED_ICONS, service.getCachedCount());
+        assertEquals(50, service.getEvictions());
+        assertEquals(1, service.getAtlas().getPageCount());
+        assertEquals(1, service.getAtlas().getPagesCreated(), "no page added and dropped per miss");
+    }
+
+    @Test
+    void prefetch_shouldRequestEachItemOnceWithoutCountingMisses() {
+        when(itemIconRegistry.get(314)).thenReturn(image);
+
+        service.prefetch(314);
+        service.prefetch(314);
+        service.get(ItemTask.builder().itemId(314).build());
+
+        verify(image, times(1)).onLoaded(any(Runnable.class));
+        assertEquals(1, service.getMisses());
+        assertFalse(service.isCached(314), "image has not finished loading");
+    }
+
+    @Test
+    void get_shouldPaintIconsFromTheDiskCacheWithoutRequestingThem() {
+        when(iconDiskCache.get(314)).thenReturn(new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB));
+
+        Icon icon = service.get(ItemTask.builder().itemId(314).build());
+
+        assertEquals(16, icon.getIconWidth());
+        assertTrue(service.isCached(314));
+        verify(itemIconRegistry, never()).get(anyInt());
     }
-}
\ No newline at end of file
+}
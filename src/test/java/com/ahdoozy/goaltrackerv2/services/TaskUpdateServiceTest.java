@@ -13,7 +13,15 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +38,9 @@ class TaskUpdateServiceTest {
     @Mock
     private StatChanged statChangedEvent;
 
+    @Mock
+    private ItemContainer inventory;
+
     @InjectMocks
     TaskUpdateService service;
 
@@ -236,4 +247,100 @@ class TaskUpdateServiceTest {
         assertFalse(service.update(task));
         assertEquals(Status.NOT_STARTED, task.getStatus());
     }
-}
\ No newline at end of file
+
+    @Test
+    void update_withSnapshot_shouldReadEachSkillOnce() {
+        when(client.getRealSkillLevel(Skill.ATTACK)).thenReturn(95);
+
+        PlayerState state = service.snapshot();
+        SkillLevelTask reached = SkillLevelTask.builder().skill(Skill.ATTACK).level(90).build();
+        SkillLevelTask notReached = SkillLevelTask.builder().skill(Skill.ATTACK).level(99).build();
+
+        assertTrue(service.update(reached, state));
+        assertFalse(service.update(notReached, state));
+        assertEquals(Status.COMPLETED, reached.getStatus());
+        verify(client, times(1)).getRealSkillLevel(Skill.ATTACK);
+    }
+
+    @Test
+    void update_withSnapshot_shouldCountHeldItems() {
+        when(client.getItemContainer(any(InventoryID.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0) == InventoryID.INVENTORY ? inventory : null);
+        when(inventory.getItems()).thenReturn(new Item[]{new Item(314, 60), new Item(995, 1000), new Item(314, 15)});
+
+        PlayerState state = service.snapshot();
+        ItemTask task = ItemTask.builder().itemId(314).acquired(0).quantity(100).build();
+
+        assertTrue(service.update(task, state));
+        assertEquals(75, task.getAcquired());
+        assertEquals(Status.IN_PROGRESS, task.getStatus());
+    }
+
+    @Test
+    void update_skillLevelTask_shouldShareOneReadPerTick() {
+        when(client.getGameState()).thenReturn(GameState.LOGGED_IN);
+        when(client.isClientThread()).thenReturn(true);
+        when(client.getTickCount()).thenReturn(10, 10, 11);
+        when(client.getRealSkillLevel(Skill.ATTACK)).thenReturn(80, 99);
+
+        assertFalse(service.update(SkillLevelTask.builder().skill(Skill.ATTACK).level(90).build()));
+        assertFalse(service.update(SkillLevelTask.builder().skill(Skill.ATTACK).level(85).build()));
+        assertTrue(service.update(SkillLevelTask.builder().skill(Skill.ATTACK).level(90).build()));
+        verify(client, times(2)).getRealSkillLevel(Skill.ATTACK);
+    }
+
+    @Test
+    void invalidateState_shouldForceAFreshReadWithinTheSameTick() {
+        when(client.getGameState()).thenReturn(GameState.LOGGED_IN);
+        when(client.isClientThread()).thenReturn(true);
+        when(client.getSkillExperience(Skill.ATTACK)).thenReturn(1000, 1234);
+
+        assertFalse(service.update(SkillXpTask.builder().skill(Skill.ATTACK).xp(1234).build()));
+        service.invalidateState();
+        assertTrue(service.update(SkillXpTask.builder().skill(Skill.ATTACK).xp(1234).build()));
+    }
+
+    @Test
+    void update_group_shouldShareOneResultAcrossDuplicates() {
+        when(client.getItemContainer(any(InventoryID.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0) == InventoryID.INVENTORY ? inventory : null);
+        when(inventory.getItems()).thenReturn(new Item[]{new Item(314, 75)});
+
+        ItemTask fresh = ItemTask.builder().itemId(314).acquired(0).quantity(100).build();
+        ItemTask stale = ItemTask.builder().itemId(314).acquired(40).quantity(100).status(Status.IN_PROGRESS).build();
+        List<List<ItemTask>> groups = TaskKey.group(Arrays.asList(fresh, stale));
+        assertEquals(1, groups.size());
+
+        PlayerState state = service.snapshot();
+        assertEquals(Arrays.asList(fresh, stale), service.update(groups.get(0), state));
+        assertEquals(75, stale.getAcquired());
+        assertEquals(Status.IN_PROGRESS, stale.getStatus());
+        assertTrue(service.update(groups.get(0), state).isEmpty());
+    }
+
+    @Test
+    void update_group_shouldLeaveTasksUntouchedWhenTheValueIsUnknown() {
+        PlayerState state = PlayerState.restored(new EnumMap<>(Skill.class), new EnumMap<>(Quest.class), new HashMap<>());
+        QuestTask first = QuestTask.builder().quest(Quest.COOKS_ASSISTANT).build();
+        QuestTask second = QuestTask.builder().quest(Quest.COOKS_ASSISTANT).status(Status.IN_PROGRESS).build();
+
+        assertTrue(service.update(Arrays.asList(first, second), state).isEmpty());
+        assertEquals(Status.IN_PROGRESS, second.getStatus());
+    }
+
+    @Test
+    void read_shouldLeaveTheTaskUntouchedUntilTheValueIsApplied() {
+        EnumMap<Quest, QuestState> quests = new EnumMap<>(Quest.class);
+        quests.put(Quest.COOKS_ASSISTANT, QuestState.FINISHED);
+        PlayerState state = PlayerState.restored(new EnumMap<>(Skill.class), quests, new HashMap<>());
+        QuestTask first = QuestTask.builder().quest(Quest.COOKS_ASSISTANT).build();
+        QuestTask second = QuestTask.builder().quest(Quest.COOKS_ASSISTANT).build();
+
+        int value = service.read(first, state);
+        assertEquals(Status.NOT_STARTED, first.getStatus());
+        assertEquals(-1, service.read(QuestTask.builder().quest(Quest.DRAGON_SLAYER_I).build(), state));
+
+        assertEquals(Arrays.asList(first, second), service.apply(Arrays.asList(first, second), value));
+        assertEquals(Status.COMPLETED, second.getStatus());
+    }
+}
@@ -0,0 +1,63 @@
+package com.ahdoozy.goaltrackerv2.ui.components;
+
+import net.runelite.client.ui.ColorScheme;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CardPainterTest {
+    @BeforeEach
+    void setUp() {
+        CardPainter.invalidate();
+    }
+
+    @Test
+    void image_shouldBeRenderedOncePerSizeAndState() {
+        BufferedImage idle = CardPainter.image(null, 200, 60, CardPainter.State.IDLE);
+
+        assertSame(idle, CardPainter.image(null, 200, 60, CardPainter.State.IDLE));
+        assertNotSame(idle, CardPainter.image(null, 200, 60, CardPainter.State.HOVERED));
+        assertNotSame(idle, CardPainter.image(null, 240, 60, CardPainter.State.IDLE));
+        assertEquals(3, CardPainter.cachedCount());
+
+        CardPainter.invalidate();
+        assertEquals(0, CardPainter.cachedCount());
+        assertNotSame(idle, CardPainter.image(null, 200, 60, CardPainter.State.IDLE));
+    }
+
+    @Test
+    void image_shouldPaintThePressedFaceLikeTheIdleOne() {
+        BufferedImage idle = CardPainter.image(null, 200, 60, CardPainter.State.IDLE);
+        BufferedImage pressed = CardPainter.image(null, 200, 60, CardPainter.State.PRESSED);
+
+        assertNotSame(idle, pressed);
+        assertEquals(ColorScheme.DARK_GRAY_COLOR.getRGB(), pressed.getRGB(100, 30));
+    }
+
+    @Test
+    void image_shouldBlendTheShadowIntoAnOpaqueImage() {
+        BufferedImage idle = CardPainter.image(null, 200, 60, CardPainter.State.IDLE);
+        BufferedImage hovered = CardPainter.image(null, 200, 60, CardPainter.State.HOVERED);
+
+        assertEquals(ColorScheme.DARK_GRAY_COLOR.getRGB(), idle.getRGB(100, 30));
+        assertEquals(ColorScheme.DARK_GRAY_HOVER_COLOR.getRGB(), hovered.getRGB(100, 30));
+        assertEquals(ColorScheme.DARK_GRAY_COLOR.getRGB(), idle.getRGB(0, 0));
+
+        // Left shadow edge: darker than the background and fully opaque
+        int shadow = idle.getRGB(7, 30);
+        assertEquals(0xFF, shadow >>> 24);
+        assertTrue((shadow & 0xFF) < ColorScheme.DARK_GRAY_COLOR.getBlue());
+    }
+
+    @Test
+    void image_shouldKeepOnlyTheMostRecentSizes() {
+        for (int width = 1; width <= CardPainter.MAX_CACHED + 4; width++) {
+            CardPainter.image(null, 100 + width, 60, CardPainter.State.IDLE);
+        }
+
+        assertEquals(CardPainter.MAX_CACHED, CardPainter.cachedCount());
+    }
+}
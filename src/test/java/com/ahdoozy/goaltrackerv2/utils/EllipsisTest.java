@@ -0,0 +1,51 @@
+package com.ahdoozy.goaltrackerv2.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EllipsisTest {
+    private final FontMetrics fm;
+
+    EllipsisTest() {
+        Graphics2D g = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+        fm = g.getFontMetrics(new Font(Font.SANS_SERIF, Font.PLAIN, 12));
+        g.dispose();
+    }
+
+    @Test
+    void fit_shouldKeepTextThatFits() {
+        String title = "Quest cape";
+
+        assertSame(title, Ellipsis.fit(title, fm, fm.stringWidth(title)));
+    }
+
+    @Test
+    void fit_shouldTrimToTheLongestPrefixThatFits() {
+        String title = "Recipe for Disaster - Freeing King Awowogei";
+        int width = fm.stringWidth("Recipe for…");
+
+        String fitted = Ellipsis.fit(title, fm, width);
+
+        assertTrue(fitted.endsWith("…"));
+        assertTrue(fm.stringWidth(fitted) <= width);
+        String longer = title.substring(0, fitted.length()) + "…";
+        assertTrue(fm.stringWidth(longer) > width, "one more character would not fit");
+    }
+
+    @Test
+    void fit_shouldReuseResultsForTheSameTextFontAndWidth() {
+        String title = "Dragon Slayer II and every pre-requisite quest";
+
+        String first = Ellipsis.fit(title, fm, 90);
+        int cached = Ellipsis.cachedCount();
+
+        assertSame(first, Ellipsis.fit(title, fm, 90));
+        assertEquals(cached, Ellipsis.cachedCount());
+    }
+}
@@ -3,11 +3,18 @@ package com.ahdoozy.goaltrackerv2.utils;
 import com.ahdoozy.goaltrackerv2.models.task.QuestTask;
 import com.ahdoozy.goaltrackerv2.models.task.SkillLevelTask;
 import com.ahdoozy.goaltrackerv2.models.task.Task;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 import net.runelite.api.Quest;
 import net.runelite.api.Skill;
 import org.junit.jupiter.api.Test;
 
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -53,4 +60,67 @@ public class QuestRequirementsTest
             assertEquals(first.get(i).getIndentLevel(), second.get(i).getIndentLevel(), "Indent levels should match between calls");
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void testRequirementTreeIsSharedAndImmutable()
+    {
+        List<QuestRequirements.Requirement> first = QuestRequirements.getRequirementTree(Quest.SONG_OF_THE_ELVES);
+        List<QuestRequirements.Requirement> second = QuestRequirements.getRequirementTree(Quest.SONG_OF_THE_ELVES);
+
+        assertSame(first, second, "The expanded tree should be computed once and shared");
+        assertThrows(UnsupportedOperationException.class, () -> first.remove(0));
+    }
+
+    @Test
+    void testDeepChainsAreClampedNotTruncated()
+    {
+        List<QuestRequirements.Requirement> tree = QuestRequirements.getRequirementTree(Quest.SONG_OF_THE_ELVES);
+        List<Task> requirements = QuestRequirements.getRequirements(Quest.SONG_OF_THE_ELVES, 0);
+
+        assertTrue(tree.stream().anyMatch(r -> r.getDepth() > 3), "Song of the Elves should have a chain deeper than the max indent");
+        assertTrue(tree.stream().anyMatch(r -> r.getQuest() == Quest.REGICIDE), "Regicide should be in the tree");
+        assertEquals(tree.size(), requirements.size(), "Nothing should be dropped when materializing");
+        requirements.forEach(t -> assertTrue(t.getIndentLevel() <= 3, "Indent should be clamped at 3"));
+    }
+
+    @Test
+    void testEachQuestAndSkillAppearsOnce()
+    {
+        List<QuestRequirements.Requirement> tree = QuestRequirements.getRequirementTree(Quest.SONG_OF_THE_ELVES);
+
+        long quests = tree.stream().filter(QuestRequirements.Requirement::isQuest).count();
+        long distinctQuests = tree.stream().filter(QuestRequirements.Requirement::isQuest).map(QuestRequirements.Requirement::getQuest).distinct().count();
+        assertEquals(distinctQuests, quests, "Quests shared by several branches should be expanded once");
+
+        Map<Skill, Integer> max = QuestRequirements.getMaxSkillLevels(Quest.SONG_OF_THE_ELVES);
+        assertEquals(70, (int) max.get(Skill.AGILITY), "Agility 70 outranks the lower Agility requirements further down");
+        assertEquals(1, tree.stream().filter(r -> r.getSkill() == Skill.AGILITY).count(), "Agility should appear once");
+    }
+
+    @Test
+    void testRequirementTableOnlyReferencesKnownQuestsAndSkills() throws Exception
+    {
+        try (Reader reader = new InputStreamReader(QuestRequirements.class.getResourceAsStream(QuestRequirements.RESOURCE), StandardCharsets.UTF_8))
+        {
+            JsonObject table = new JsonParser().parse(reader).getAsJsonObject();
+            assertFalse(table.entrySet().isEmpty(), "The requirement table should not be empty");
+            for (Map.Entry<String, JsonElement> entry : table.entrySet())
+            {
+                assertDoesNotThrow(() -> Quest.valueOf(entry.getKey()), "Unknown quest " + entry.getKey());
+                for (JsonElement requirement : entry.getValue().getAsJsonArray())
+                {
+                    String[] parts = requirement.getAsString().split(" ");
+                    if (parts.length == 1)
+                    {
+                        assertDoesNotThrow(() -> Quest.valueOf(parts[0]), "Unknown quest " + parts[0]);
+                    }
+                    else
+                    {
+                        assertDoesNotThrow(() -> Skill.valueOf(parts[0]), "Unknown skill " + parts[0]);
+                        assertTrue(Integer.parseInt(parts[1]) > 0, "Level should be positive for " + requirement);
+                    }
+                }
+            }
+        }
+    }
+}